@@ -5,6 +5,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableAuthorizationServer;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableResourceServer;
 
@@ -14,6 +15,7 @@ import com.perfectcherry.custom.properties.ImageStorageProperties;
 @EnableResourceServer
 @EnableAuthorizationServer
 @EnableConfigurationProperties({ ImageStorageProperties.class })
+@EnableScheduling
 public class PerfectcherryApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,27 @@
+package com.perfectcherry.configuration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import com.perfectcherry.mail.LocalSmtpServer;
+
+/**
+ * Embedded SMTP sink for the local profile; application-local.properties
+ * points spring.mail at it.
+ */
+@Configuration
+@Profile("local")
+public class LocalMailConfiguration {
+
+	@Autowired
+	private Environment env;
+
+	@Bean(initMethod = "start", destroyMethod = "stop")
+	public LocalSmtpServer localSmtpServer() {
+		return new LocalSmtpServer(env.getProperty("localsmtp.port", Integer.class, 2525));
+	}
+
+}
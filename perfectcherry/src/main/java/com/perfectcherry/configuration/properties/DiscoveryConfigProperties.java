@@ -0,0 +1,157 @@
+package com.perfectcherry.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("discovery")
+public class DiscoveryConfigProperties {
+
+	private boolean indexEnabled = true;
+	private int geoHashPrecision = 5;
+	private double interactionFalsePositiveRate = 0.01;
+	private int rankingTopK = 100;
+	private int rankingParallelism;
+	private int feedSize = 200;
+	private int feedLowWatermark = 40;
+	private int feedMaxAgeMinutes = 30;
+	private int feedIdleMinutes = 120;
+
+	private int feedServedLimit = 2000;
+
+	private int feedRefillThreads = 2;
+	private boolean resultCacheEnabled = true;
+	private int resultCachePrecision = 5;
+	private double resultCacheRadiusBucketKm = 10;
+	private int resultCacheMaxEntries = 4096;
+	private int resultCacheTtlSeconds = 30;
+
+	public boolean isIndexEnabled() {
+		return indexEnabled;
+	}
+
+	public void setIndexEnabled(boolean indexEnabled) {
+		this.indexEnabled = indexEnabled;
+	}
+
+	public int getGeoHashPrecision() {
+		return geoHashPrecision;
+	}
+
+	public void setGeoHashPrecision(int geoHashPrecision) {
+		this.geoHashPrecision = geoHashPrecision;
+	}
+
+	public double getInteractionFalsePositiveRate() {
+		return interactionFalsePositiveRate;
+	}
+
+	public void setInteractionFalsePositiveRate(double interactionFalsePositiveRate) {
+		this.interactionFalsePositiveRate = interactionFalsePositiveRate;
+	}
+
+	public int getRankingTopK() {
+		return rankingTopK;
+	}
+
+	public void setRankingTopK(int rankingTopK) {
+		this.rankingTopK = rankingTopK;
+	}
+
+	public int getRankingParallelism() {
+		return rankingParallelism;
+	}
+
+	public void setRankingParallelism(int rankingParallelism) {
+		this.rankingParallelism = rankingParallelism;
+	}
+
+	public int getFeedSize() {
+		return feedSize;
+	}
+
+	public void setFeedSize(int feedSize) {
+		this.feedSize = feedSize;
+	}
+
+	public int getFeedLowWatermark() {
+		return feedLowWatermark;
+	}
+
+	public void setFeedLowWatermark(int feedLowWatermark) {
+		this.feedLowWatermark = feedLowWatermark;
+	}
+
+	public int getFeedMaxAgeMinutes() {
+		return feedMaxAgeMinutes;
+	}
+
+	public void setFeedMaxAgeMinutes(int feedMaxAgeMinutes) {
+		this.feedMaxAgeMinutes = feedMaxAgeMinutes;
+	}
+
+	public int getFeedIdleMinutes() {
+		return feedIdleMinutes;
+	}
+
+	public void setFeedIdleMinutes(int feedIdleMinutes) {
+		this.feedIdleMinutes = feedIdleMinutes;
+	}
+
+	public int getFeedServedLimit() {
+		return feedServedLimit;
+	}
+
+	public void setFeedServedLimit(int feedServedLimit) {
+		this.feedServedLimit = feedServedLimit;
+	}
+
+	public int getFeedRefillThreads() {
+		return feedRefillThreads;
+	}
+
+	public void setFeedRefillThreads(int feedRefillThreads) {
+		this.feedRefillThreads = feedRefillThreads;
+	}
+
+	public boolean isResultCacheEnabled() {
+		return resultCacheEnabled;
+	}
+
+	public void setResultCacheEnabled(boolean resultCacheEnabled) {
+		this.resultCacheEnabled = resultCacheEnabled;
+	}
+
+	public int getResultCachePrecision() {
+		return resultCachePrecision;
+	}
+
+	public void setResultCachePrecision(int resultCachePrecision) {
+		this.resultCachePrecision = resultCachePrecision;
+	}
+
+	public double getResultCacheRadiusBucketKm() {
+		return resultCacheRadiusBucketKm;
+	}
+
+	public void setResultCacheRadiusBucketKm(double resultCacheRadiusBucketKm) {
+		this.resultCacheRadiusBucketKm = resultCacheRadiusBucketKm;
+	}
+
+	public int getResultCacheMaxEntries() {
+		return resultCacheMaxEntries;
+	}
+
+	public void setResultCacheMaxEntries(int resultCacheMaxEntries) {
+		this.resultCacheMaxEntries = resultCacheMaxEntries;
+	}
+
+	public int getResultCacheTtlSeconds() {
+		return resultCacheTtlSeconds;
+	}
+
+	public void setResultCacheTtlSeconds(int resultCacheTtlSeconds) {
+		this.resultCacheTtlSeconds = resultCacheTtlSeconds;
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.perfectcherry.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("interest")
+public class InterestConfigProperties {
+
+	private boolean sweepEnabled = true;
+	private int expireAfterDays = 30;
+	private int archiveAfterDays = 30;
+	private int sweepChunkSize = 500;
+	private int sweepMaxChunks = 200;
+	private long sweepPauseMillis = 200;
+
+	public boolean isSweepEnabled() {
+		return sweepEnabled;
+	}
+
+	public void setSweepEnabled(boolean sweepEnabled) {
+		this.sweepEnabled = sweepEnabled;
+	}
+
+	public int getExpireAfterDays() {
+		return expireAfterDays;
+	}
+
+	public void setExpireAfterDays(int expireAfterDays) {
+		this.expireAfterDays = expireAfterDays;
+	}
+
+	public int getArchiveAfterDays() {
+		return archiveAfterDays;
+	}
+
+	public void setArchiveAfterDays(int archiveAfterDays) {
+		this.archiveAfterDays = archiveAfterDays;
+	}
+
+	public int getSweepChunkSize() {
+		return sweepChunkSize;
+	}
+
+	public void setSweepChunkSize(int sweepChunkSize) {
+		this.sweepChunkSize = sweepChunkSize;
+	}
+
+	public int getSweepMaxChunks() {
+		return sweepMaxChunks;
+	}
+
+	public void setSweepMaxChunks(int sweepMaxChunks) {
+		this.sweepMaxChunks = sweepMaxChunks;
+	}
+
+	public long getSweepPauseMillis() {
+		return sweepPauseMillis;
+	}
+
+	public void setSweepPauseMillis(long sweepPauseMillis) {
+		this.sweepPauseMillis = sweepPauseMillis;
+	}
+
+}
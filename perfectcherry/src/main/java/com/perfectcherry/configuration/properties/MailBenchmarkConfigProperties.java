@@ -0,0 +1,38 @@
+package com.perfectcherry.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("mailbenchmark")
+public class MailBenchmarkConfigProperties {
+
+	private int events = 0;
+	private int requestThreads = 4;
+	private int timeoutSeconds = 120;
+
+	public int getEvents() {
+		return events;
+	}
+
+	public void setEvents(int events) {
+		this.events = events;
+	}
+
+	public int getRequestThreads() {
+		return requestThreads;
+	}
+
+	public void setRequestThreads(int requestThreads) {
+		this.requestThreads = requestThreads;
+	}
+
+	public int getTimeoutSeconds() {
+		return timeoutSeconds;
+	}
+
+	public void setTimeoutSeconds(int timeoutSeconds) {
+		this.timeoutSeconds = timeoutSeconds;
+	}
+
+}
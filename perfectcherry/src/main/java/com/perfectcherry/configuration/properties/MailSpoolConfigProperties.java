@@ -0,0 +1,74 @@
+package com.perfectcherry.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("mailspool")
+public class MailSpoolConfigProperties {
+
+	private int batchSize = 50;
+	private int senderThreads = 4;
+	private int claimSeconds = 300;
+	private int maxAttempts = 8;
+	private int retryBaseSeconds = 30;
+	private int retryMaxSeconds = 3600;
+	private int retentionHours = 168;
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public int getSenderThreads() {
+		return senderThreads;
+	}
+
+	public void setSenderThreads(int senderThreads) {
+		this.senderThreads = senderThreads;
+	}
+
+	public int getClaimSeconds() {
+		return claimSeconds;
+	}
+
+	public void setClaimSeconds(int claimSeconds) {
+		this.claimSeconds = claimSeconds;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public void setMaxAttempts(int maxAttempts) {
+		this.maxAttempts = maxAttempts;
+	}
+
+	public int getRetryBaseSeconds() {
+		return retryBaseSeconds;
+	}
+
+	public void setRetryBaseSeconds(int retryBaseSeconds) {
+		this.retryBaseSeconds = retryBaseSeconds;
+	}
+
+	public int getRetryMaxSeconds() {
+		return retryMaxSeconds;
+	}
+
+	public void setRetryMaxSeconds(int retryMaxSeconds) {
+		this.retryMaxSeconds = retryMaxSeconds;
+	}
+
+	public int getRetentionHours() {
+		return retentionHours;
+	}
+
+	public void setRetentionHours(int retentionHours) {
+		this.retentionHours = retentionHours;
+	}
+
+}
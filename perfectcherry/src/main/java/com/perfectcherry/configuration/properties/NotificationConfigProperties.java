@@ -0,0 +1,67 @@
+package com.perfectcherry.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.pcenum.NotificationMode;
+
+@Component
+@ConfigurationProperties("notification")
+public class NotificationConfigProperties {
+
+	private NotificationMode newInterestMode = NotificationMode.DIGEST;
+	private NotificationMode interestAcceptedMode = NotificationMode.IMMEDIATE;
+	private NotificationMode interestDeclinedMode = NotificationMode.DIGEST;
+	private int digestWindowMinutes = 60;
+	private int digestMaxEvents = 20;
+	private int digestBatchSize = 100;
+
+	public NotificationMode getNewInterestMode() {
+		return newInterestMode;
+	}
+
+	public void setNewInterestMode(NotificationMode newInterestMode) {
+		this.newInterestMode = newInterestMode;
+	}
+
+	public NotificationMode getInterestAcceptedMode() {
+		return interestAcceptedMode;
+	}
+
+	public void setInterestAcceptedMode(NotificationMode interestAcceptedMode) {
+		this.interestAcceptedMode = interestAcceptedMode;
+	}
+
+	public NotificationMode getInterestDeclinedMode() {
+		return interestDeclinedMode;
+	}
+
+	public void setInterestDeclinedMode(NotificationMode interestDeclinedMode) {
+		this.interestDeclinedMode = interestDeclinedMode;
+	}
+
+	public int getDigestWindowMinutes() {
+		return digestWindowMinutes;
+	}
+
+	public void setDigestWindowMinutes(int digestWindowMinutes) {
+		this.digestWindowMinutes = digestWindowMinutes;
+	}
+
+	public int getDigestMaxEvents() {
+		return digestMaxEvents;
+	}
+
+	public void setDigestMaxEvents(int digestMaxEvents) {
+		this.digestMaxEvents = digestMaxEvents;
+	}
+
+	public int getDigestBatchSize() {
+		return digestBatchSize;
+	}
+
+	public void setDigestBatchSize(int digestBatchSize) {
+		this.digestBatchSize = digestBatchSize;
+	}
+
+}
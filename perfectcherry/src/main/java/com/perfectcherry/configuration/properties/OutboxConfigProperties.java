@@ -0,0 +1,56 @@
+package com.perfectcherry.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("outbox")
+public class OutboxConfigProperties {
+
+	private int batchSize = 100;
+	private int maxAttempts = 10;
+	private int retryBaseSeconds = 5;
+	private int retryMaxSeconds = 3600;
+	private int claimSeconds = 300;
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public void setMaxAttempts(int maxAttempts) {
+		this.maxAttempts = maxAttempts;
+	}
+
+	public int getRetryBaseSeconds() {
+		return retryBaseSeconds;
+	}
+
+	public void setRetryBaseSeconds(int retryBaseSeconds) {
+		this.retryBaseSeconds = retryBaseSeconds;
+	}
+
+	public int getRetryMaxSeconds() {
+		return retryMaxSeconds;
+	}
+
+	public void setRetryMaxSeconds(int retryMaxSeconds) {
+		this.retryMaxSeconds = retryMaxSeconds;
+	}
+
+	public int getClaimSeconds() {
+		return claimSeconds;
+	}
+
+	public void setClaimSeconds(int claimSeconds) {
+		this.claimSeconds = claimSeconds;
+	}
+
+}
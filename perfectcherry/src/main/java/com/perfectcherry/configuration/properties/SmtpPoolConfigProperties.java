@@ -0,0 +1,56 @@
+package com.perfectcherry.configuration.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("smtppool")
+public class SmtpPoolConfigProperties {
+
+	private int maxConnections = 4;
+	private long borrowTimeoutMillis = 30000;
+	private int validateAfterSeconds = 30;
+	private int idleSeconds = 120;
+	private int maxMessagesPerConnection = 100;
+
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	public void setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	public long getBorrowTimeoutMillis() {
+		return borrowTimeoutMillis;
+	}
+
+	public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+		this.borrowTimeoutMillis = borrowTimeoutMillis;
+	}
+
+	public int getValidateAfterSeconds() {
+		return validateAfterSeconds;
+	}
+
+	public void setValidateAfterSeconds(int validateAfterSeconds) {
+		this.validateAfterSeconds = validateAfterSeconds;
+	}
+
+	public int getIdleSeconds() {
+		return idleSeconds;
+	}
+
+	public void setIdleSeconds(int idleSeconds) {
+		this.idleSeconds = idleSeconds;
+	}
+
+	public int getMaxMessagesPerConnection() {
+		return maxMessagesPerConnection;
+	}
+
+	public void setMaxMessagesPerConnection(int maxMessagesPerConnection) {
+		this.maxMessagesPerConnection = maxMessagesPerConnection;
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.perfectcherry.constant;
+
+public final class DiscoveryConstants {
+
+	private DiscoveryConstants() {
+	}
+
+	public static final int DEFAULT_PAGE_SIZE = 20;
+
+	public static final int MAX_PAGE_SIZE = 100;
+
+	public static final String INVALID_CURSOR_MESSAGE = "Discovery cursor is invalid";
+
+}
@@ -15,6 +15,20 @@ public class EmailConstants {
 	public static final String INTEREST_ACCEPTED_SUBJECT = "Perfect Cherry- %s has accepted your interest";
 	
 	public static final String INTEREST_DECLINED_SUBJECT = "Perfect Cherry- %s has declined your interest";
+
+	public static final String INTEREST_DIGEST_SUBJECT = "Perfect Cherry- %s updates on your interests";
+
+	public static final String FORGOT_PASSWORD_TEMPLATE = "forgot-password";
+
+	public static final String RESET_PASSWORD_TEMPLATE = "reset-password";
+
+	public static final String INTEREST_SENT_TEMPLATE = "interest-sent";
+
+	public static final String INTEREST_ACCEPTED_TEMPLATE = "interest-accepted";
+
+	public static final String INTEREST_DECLINED_TEMPLATE = "interest-declined";
+
+	public static final String INTEREST_DIGEST_TEMPLATE = "interest-digest";
 	
 	public static final String EMAIL_SIGNATURE = "Thanks %n www.perfectcherry.com"; 
 
@@ -11,4 +11,14 @@ public class InterestConstants {
 	
 	public static final String DECLINE = "Decline";
 
+	public static final int DEFAULT_PAGE_SIZE = 20;
+
+	public static final int MAX_PAGE_SIZE = 100;
+
+	public static final String INVALID_CURSOR_MESSAGE = "Interest cursor is invalid";
+
+	public static final int MAX_BATCH_SIZE = 100;
+
+	public static final String INVALID_BATCH_MESSAGE = "Between 1 and " + MAX_BATCH_SIZE + " interests can be sent at once";
+
 }
@@ -83,6 +83,8 @@ public final class RegistrationConstants {
 
 	public static final String EMAIL_NOT_SENT = "Failed to send email";
 
+	public static final String NOTIFICATION_PREFERENCE_SAVED = "Notification preferences saved successfully";
+
 	public static final String USER_LIVING_IN_MESSAGE = "User location is required";
 
 	public static final String USER_LOCATION_LATITUDE_MESSAGE = "User location's latitude is required";
@@ -114,6 +116,10 @@ public final class RegistrationConstants {
 	public static final String INTEREST_NOT_FOUND = "Interest not found";
 
 	public static final String INVALID_INTEREST_ID_MESSAGE = "Invalid interest ID";
+
+	public static final String INTEREST_ALREADY_CLOSED_MESSAGE = "Interest is already %s";
+
+	public static final String INTEREST_CHANGED_MESSAGE = "Interest was changed by another request";
 	
 	public static final String PHONE_ALREADY_REGISTERED = "Phone number is already registered";
 	
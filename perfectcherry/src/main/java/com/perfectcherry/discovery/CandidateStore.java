@@ -0,0 +1,169 @@
+package com.perfectcherry.discovery;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.perfectcherry.dto.DiscoveryProfile;
+
+/**
+ * Fixed-width discovery records kept in a direct buffer outside the Java heap.
+ * A record holds the userAccountId, coordinates, dob as an epoch day, the coded
+ * gender, interestedIn and sexual orientation, hashes of the education,
+ * livingIn and jobTitle used for ranking and the last update in epoch minutes.
+ * Not thread safe for writes; callers guard it with their own lock.
+ */
+public final class CandidateStore {
+
+	public static final int RECORD_SIZE = 48;
+
+	private static final int USER_ACCOUNT_ID = 0;
+
+	private static final int LATITUDE = 8;
+
+	private static final int LONGITUDE = 16;
+
+	private static final int DOB_EPOCH_DAY = 24;
+
+	private static final int GENDER = 28;
+
+	private static final int INTERESTED_IN = 29;
+
+	private static final int SEXUAL_ORIENTATION = 30;
+
+	private static final int EDUCATION = 32;
+
+	private static final int LIVING_IN = 36;
+
+	private static final int JOB_TITLE = 40;
+
+	private static final int UPDATED_EPOCH_MINUTE = 44;
+
+	private ByteBuffer records;
+
+	private final LongIntHashMap slots;
+
+	private int[] freeSlots = new int[16];
+
+	private int freeSlotCount;
+
+	private int slotCount;
+
+	public CandidateStore(int initialCapacity) {
+		records = ByteBuffer.allocateDirect(Math.max(1, initialCapacity) * RECORD_SIZE);
+		slots = new LongIntHashMap(initialCapacity);
+	}
+
+	/**
+	 * Stores or replaces the record of a profile and returns its slot.
+	 */
+	public int put(DiscoveryProfile profile) {
+		long userAccountId = profile.getUserAccountId();
+		int slot = slots.get(userAccountId);
+		if (slot == LongIntHashMap.NO_VALUE) {
+			slot = freeSlotCount > 0 ? freeSlots[--freeSlotCount] : slotCount++;
+			ensureCapacity(slot + 1);
+			slots.put(userAccountId, slot);
+		}
+		int offset = slot * RECORD_SIZE;
+		records.putLong(offset + USER_ACCOUNT_ID, userAccountId);
+		records.putDouble(offset + LATITUDE, profile.getLatitude().doubleValue());
+		records.putDouble(offset + LONGITUDE, profile.getLongitude().doubleValue());
+		records.putInt(offset + DOB_EPOCH_DAY, DiscoveryFilter.toEpochDay(profile.getDob()));
+		records.put(offset + GENDER, ProfileCodes.genderCode(profile.getGender()));
+		records.put(offset + INTERESTED_IN, ProfileCodes.genderCode(profile.getInterestedIn()));
+		records.put(offset + SEXUAL_ORIENTATION, ProfileCodes.sexualOrientationCode(profile.getSexualOrientation()));
+		records.putInt(offset + EDUCATION, ProfileCodes.attributeHash(profile.getEducation()));
+		records.putInt(offset + LIVING_IN, ProfileCodes.attributeHash(profile.getLivingIn()));
+		records.putInt(offset + JOB_TITLE, ProfileCodes.attributeHash(profile.getJobTitle()));
+		records.putInt(offset + UPDATED_EPOCH_MINUTE, ProfileCodes.epochMinute(profile.getUpdatedDate()));
+		return slot;
+	}
+
+	/**
+	 * Frees the slot of a user and returns it, or
+	 * {@link LongIntHashMap#NO_VALUE} when the user is not stored.
+	 */
+	public int remove(long userAccountId) {
+		int slot = slots.remove(userAccountId);
+		if (slot != LongIntHashMap.NO_VALUE) {
+			if (freeSlotCount == freeSlots.length) {
+				freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+			}
+			freeSlots[freeSlotCount++] = slot;
+		}
+		return slot;
+	}
+
+	public int slotOf(long userAccountId) {
+		return slots.get(userAccountId);
+	}
+
+	public int size() {
+		return slots.size();
+	}
+
+	public void clear() {
+		slots.clear();
+		freeSlotCount = 0;
+		slotCount = 0;
+	}
+
+	public long userAccountId(int slot) {
+		return records.getLong(slot * RECORD_SIZE + USER_ACCOUNT_ID);
+	}
+
+	public double latitude(int slot) {
+		return records.getDouble(slot * RECORD_SIZE + LATITUDE);
+	}
+
+	public double longitude(int slot) {
+		return records.getDouble(slot * RECORD_SIZE + LONGITUDE);
+	}
+
+	public int dobEpochDay(int slot) {
+		return records.getInt(slot * RECORD_SIZE + DOB_EPOCH_DAY);
+	}
+
+	public int educationHash(int slot) {
+		return records.getInt(slot * RECORD_SIZE + EDUCATION);
+	}
+
+	public int livingInHash(int slot) {
+		return records.getInt(slot * RECORD_SIZE + LIVING_IN);
+	}
+
+	public int jobTitleHash(int slot) {
+		return records.getInt(slot * RECORD_SIZE + JOB_TITLE);
+	}
+
+	public int updatedEpochMinute(int slot) {
+		return records.getInt(slot * RECORD_SIZE + UPDATED_EPOCH_MINUTE);
+	}
+
+	/**
+	 * Whether the record has the wanted gender, is interested in the wanted
+	 * gender and has one of the orientations in the mask.
+	 */
+	public boolean matches(int slot, byte gender, byte interestedIn, int sexualOrientationMask) {
+		int offset = slot * RECORD_SIZE;
+		byte recordGender = records.get(offset + GENDER);
+		byte recordInterestedIn = records.get(offset + INTERESTED_IN);
+		return recordGender != ProfileCodes.UNKNOWN && recordGender == gender
+				&& recordInterestedIn != ProfileCodes.UNKNOWN && recordInterestedIn == interestedIn
+				&& (sexualOrientationMask & (1 << records.get(offset + SEXUAL_ORIENTATION))) != 0;
+	}
+
+	private void ensureCapacity(int slotCapacity) {
+		int capacity = records.capacity() / RECORD_SIZE;
+		if (slotCapacity > capacity) {
+			int newCapacity = (int) Math.min(Integer.MAX_VALUE / RECORD_SIZE,
+					Math.max(slotCapacity, 2L * capacity));
+			ByteBuffer newRecords = ByteBuffer.allocateDirect(newCapacity * RECORD_SIZE);
+			records.clear();
+			newRecords.put(records);
+			newRecords.clear();
+			records = newRecords;
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.perfectcherry.discovery;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import com.perfectcherry.constant.DiscoveryConstants;
+import com.perfectcherry.exception.InvalidCursorException;
+
+/**
+ * Opaque keyset position in a distance-sorted discovery result: the distance
+ * and userAccountId of the last card a client has seen.
+ */
+public final class DiscoveryCursor {
+
+	private final double distance;
+
+	private final long userAccountId;
+
+	public DiscoveryCursor(double distance, long userAccountId) {
+		this.distance = distance;
+		this.userAccountId = userAccountId;
+	}
+
+	public static DiscoveryCursor of(NearbyUser nearbyUser) {
+		return new DiscoveryCursor(nearbyUser.getDistance(), nearbyUser.getUserAccountId());
+	}
+
+	public static DiscoveryCursor decode(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+			if (buffer.remaining() != 2 * Long.BYTES) {
+				throw new InvalidCursorException(DiscoveryConstants.INVALID_CURSOR_MESSAGE);
+			}
+			return new DiscoveryCursor(buffer.getDouble(), buffer.getLong());
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException(DiscoveryConstants.INVALID_CURSOR_MESSAGE);
+		}
+	}
+
+	public String encode() {
+		ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES).putDouble(distance).putLong(userAccountId);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+	}
+
+	public boolean isBefore(double otherDistance, long otherUserAccountId) {
+		int compare = Double.compare(distance, otherDistance);
+		return compare < 0 || (compare == 0 && userAccountId < otherUserAccountId);
+	}
+
+	public double getDistance() {
+		return distance;
+	}
+
+	public long getUserAccountId() {
+		return userAccountId;
+	}
+
+}
@@ -0,0 +1,168 @@
+package com.perfectcherry.discovery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongPredicate;
+
+/**
+ * Materialised discovery queue of one user: ranked candidate ids with their
+ * distances, a read position and the latest ids handed out, which later
+ * refills skip. Only the last servedLimit ids are remembered.
+ */
+public final class DiscoveryFeed {
+
+	private final long userAccountId;
+
+	private long[] userAccountIds = new long[0];
+
+	private double[] distances = new double[0];
+
+	private int position;
+
+	private int size;
+
+	private final LongIntHashMap served = new LongIntHashMap(64);
+
+	private final long[] servedOrder;
+
+	private int servedNext;
+
+	private final AtomicBoolean refilling = new AtomicBoolean();
+
+	private final CountDownLatch firstFill = new CountDownLatch(1);
+
+	private volatile boolean stale = true;
+
+	private volatile long refilledAt;
+
+	private volatile long readAt = System.currentTimeMillis();
+
+	public DiscoveryFeed(long userAccountId, int servedLimit) {
+		this.userAccountId = userAccountId;
+		this.servedOrder = new long[Math.max(1, servedLimit)];
+	}
+
+	public long getUserAccountId() {
+		return userAccountId;
+	}
+
+	/**
+	 * Pops up to {@code limit} candidates, skipping those no longer accepted.
+	 */
+	public synchronized List<NearbyUser> poll(int limit, LongPredicate accept) {
+		readAt = System.currentTimeMillis();
+		List<NearbyUser> page = new ArrayList<>(limit);
+		while (position < size && page.size() < limit) {
+			long candidateId = userAccountIds[position];
+			double distance = distances[position++];
+			if (accept.test(candidateId)) {
+				markServed(candidateId);
+				page.add(new NearbyUser(candidateId, distance));
+			}
+		}
+		return page;
+	}
+
+	/**
+	 * Replaces the unread part of the queue with freshly ranked matches.
+	 */
+	public synchronized void refill(List<RankedMatch> matches) {
+		userAccountIds = new long[matches.size()];
+		distances = new double[matches.size()];
+		size = 0;
+		position = 0;
+		for (RankedMatch match : matches) {
+			userAccountIds[size] = match.getUserAccountId();
+			distances[size++] = match.getDistance();
+		}
+		stale = false;
+		refilledAt = System.currentTimeMillis();
+	}
+
+	/**
+	 * Accepts candidates not handed out yet, judged on a copy so it can be
+	 * used without holding this feed's lock.
+	 */
+	public synchronized LongPredicate notServed() {
+		LongIntHashMap servedCopy = new LongIntHashMap(served);
+		return candidateId -> servedCopy.get(candidateId) == LongIntHashMap.NO_VALUE;
+	}
+
+	/**
+	 * Drops a candidate from the unread part of the queue.
+	 */
+	public synchronized void remove(long candidateId) {
+		int kept = position;
+		for (int i = position; i < size; i++) {
+			if (userAccountIds[i] != candidateId) {
+				userAccountIds[kept] = userAccountIds[i];
+				distances[kept++] = distances[i];
+			}
+		}
+		size = kept;
+	}
+
+	public synchronized int remaining() {
+		return size - position;
+	}
+
+	/**
+	 * Claims the feed for one refill at a time; false while another is running.
+	 */
+	public boolean startRefill() {
+		return refilling.compareAndSet(false, true);
+	}
+
+	/**
+	 * Ends the claimed refill, whether or not it filled the feed, and releases
+	 * readers waiting for the first fill.
+	 */
+	public void finishRefill() {
+		refilling.set(false);
+		firstFill.countDown();
+	}
+
+	public boolean isFilled() {
+		return firstFill.getCount() == 0;
+	}
+
+	public boolean awaitFirstFill(long timeout, TimeUnit unit) throws InterruptedException {
+		return firstFill.await(timeout, unit);
+	}
+
+	public void markStale() {
+		stale = true;
+	}
+
+	public boolean isStale() {
+		return stale;
+	}
+
+	public long getRefilledAt() {
+		return refilledAt;
+	}
+
+	public long getReadAt() {
+		return readAt;
+	}
+
+	/**
+	 * Remembers the id, forgetting the oldest one once servedLimit ids are
+	 * remembered.
+	 */
+	private void markServed(long candidateId) {
+		if (served.get(candidateId) != LongIntHashMap.NO_VALUE) {
+			return;
+		}
+		if (served.size() == servedOrder.length) {
+			served.remove(servedOrder[servedNext]);
+		}
+		served.put(candidateId, 0);
+		servedOrder[servedNext] = candidateId;
+		servedNext = (servedNext + 1) % servedOrder.length;
+	}
+
+}
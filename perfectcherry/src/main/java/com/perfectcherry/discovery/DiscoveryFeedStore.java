@@ -0,0 +1,205 @@
+package com.perfectcherry.discovery;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.configuration.properties.DiscoveryConfigProperties;
+import com.perfectcherry.entity.UserAccount;
+import com.perfectcherry.pcenum.UserStatus;
+import com.perfectcherry.repository.UserAccountRepository;
+
+/**
+ * Per-user discovery feeds kept in memory. A feed is filled on a user's first
+ * read, topped up in the background once a read leaves it below
+ * discovery.feedLowWatermark, patched when profiles or interests change and
+ * dropped once its user stops reading. Reads only rank candidates themselves
+ * for a new feed; at most one refill per feed runs at a time.
+ */
+@Component
+public class DiscoveryFeedStore {
+
+	private static final long FIRST_FILL_WAIT_SECONDS = 10;
+
+	private Logger logger = LogManager.getLogger(DiscoveryFeedStore.class);
+
+	@Autowired
+	private UserAccountRepository userAccountRepository;
+
+	@Autowired
+	private UserLocationIndex userLocationIndex;
+
+	@Autowired
+	private InteractionIndex interactionIndex;
+
+	@Autowired
+	private DiscoveryConfigProperties discoveryConfigProperties;
+
+	private final Map<Long, DiscoveryFeed> feeds = new ConcurrentHashMap<>();
+
+	private ExecutorService refillers;
+
+	@PostConstruct
+	public void init() {
+		refillers = Executors.newFixedThreadPool(Math.max(1, discoveryConfigProperties.getFeedRefillThreads()));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		refillers.shutdown();
+	}
+
+	/**
+	 * Pops the next page of the user's feed. A new feed is filled first; a
+	 * stale one, or one this page leaves below the low watermark, is refilled
+	 * in the background.
+	 */
+	public List<NearbyUser> nextPage(UserAccount userAccount, int limit) {
+		long userAccountId = userAccount.getUserAccountId();
+		DiscoveryFeed feed = feeds.computeIfAbsent(userAccountId,
+				key -> new DiscoveryFeed(key, discoveryConfigProperties.getFeedServedLimit()));
+		if (!feed.isFilled()) {
+			fillFirst(feed, userAccount);
+		} else if (feed.isStale() || feed.remaining() < limit + discoveryConfigProperties.getFeedLowWatermark()) {
+			refillInBackground(feed, userAccount);
+		}
+		LongPredicate notInteracted = interactionIndex.notInteractedWith(userAccountId);
+		return feed.poll(limit,
+				candidateId -> userLocationIndex.isIndexed(candidateId) && notInteracted.test(candidateId));
+	}
+
+	/**
+	 * The user's own profile, preferences or location changed.
+	 */
+	public void invalidate(Long userAccountId) {
+		DiscoveryFeed feed = feeds.get(userAccountId);
+		if (feed != null) {
+			feed.markStale();
+		}
+	}
+
+	public void remove(Long userAccountId) {
+		feeds.remove(userAccountId);
+	}
+
+	/**
+	 * Two users now have an interest row, so neither is shown to the other.
+	 */
+	public void removeCandidate(Long userAccountId, Long candidateId) {
+		DiscoveryFeed feed = feeds.get(userAccountId);
+		if (feed != null) {
+			feed.remove(candidateId);
+		}
+		feed = feeds.get(candidateId);
+		if (feed != null) {
+			feed.remove(userAccountId);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${discovery.feedRefreshMillis:60000}")
+	public void refresh() {
+		if (!userLocationIndex.isReady() || feeds.isEmpty()) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		long idleMillis = TimeUnit.MINUTES.toMillis(discoveryConfigProperties.getFeedIdleMinutes());
+		long maxAgeMillis = TimeUnit.MINUTES.toMillis(discoveryConfigProperties.getFeedMaxAgeMinutes());
+		feeds.values().removeIf(feed -> now - feed.getReadAt() > idleMillis);
+		List<Long> dueUserIds = feeds.values().stream()
+				.filter(feed -> feed.isStale() || now - feed.getRefilledAt() > maxAgeMillis
+						|| feed.remaining() < discoveryConfigProperties.getFeedLowWatermark())
+				.map(DiscoveryFeed::getUserAccountId).collect(Collectors.toList());
+		if (dueUserIds.isEmpty()) {
+			return;
+		}
+		try {
+			for (UserAccount userAccount : userAccountRepository.findAllById(dueUserIds)) {
+				DiscoveryFeed feed = feeds.get(userAccount.getUserAccountId());
+				if (feed != null && feed.startRefill()) {
+					try {
+						refill(feed, userAccount);
+					} finally {
+						feed.finishRefill();
+					}
+				}
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Refilled %s discovery feeds", dueUserIds.size()));
+			}
+		} catch (RuntimeException e) {
+			logger.error(String.format("Unable to refill discovery feeds : %s", e.toString()));
+		}
+	}
+
+	/**
+	 * Fills a new feed on the calling thread; concurrent first reads wait for
+	 * that fill instead of ranking again.
+	 */
+	private void fillFirst(DiscoveryFeed feed, UserAccount userAccount) {
+		if (feed.startRefill()) {
+			try {
+				refill(feed, userAccount);
+			} finally {
+				feed.finishRefill();
+			}
+			return;
+		}
+		try {
+			feed.awaitFirstFill(FIRST_FILL_WAIT_SECONDS, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void refillInBackground(DiscoveryFeed feed, UserAccount userAccount) {
+		if (!feed.startRefill()) {
+			return;
+		}
+		try {
+			refillers.execute(() -> {
+				try {
+					refill(feed, userAccount);
+				} catch (RuntimeException e) {
+					logger.error(String.format("Unable to refill the discovery feed of %s : %s",
+							feed.getUserAccountId(), e.toString()));
+				} finally {
+					feed.finishRefill();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			feed.finishRefill();
+		}
+	}
+
+	private void refill(DiscoveryFeed feed, UserAccount userAccount) {
+		if (userAccount.getStatus() != UserStatus.A.asChar() || userAccount.getLatitude() == null
+				|| userAccount.getLongitude() == null || !userLocationIndex.isReady()) {
+			feed.refill(Collections.<RankedMatch>emptyList());
+			return;
+		}
+		LongPredicate notInteracted = interactionIndex.notInteractedWith(userAccount.getUserAccountId());
+		LongPredicate notServed = feed.notServed();
+		feed.refill(userLocationIndex.findTopMatchesWithinKm(userAccount.getUserAccountId(),
+				userAccount.getLatitude().doubleValue(), userAccount.getLongitude().doubleValue(),
+				userAccount.getPeopleWithinKm(), DiscoveryFilter.of(userAccount),
+				notInteracted.and(notServed),
+				MatchScorer.of(userAccount), discoveryConfigProperties.getFeedSize()));
+	}
+
+}
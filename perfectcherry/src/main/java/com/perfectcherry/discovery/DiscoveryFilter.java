@@ -0,0 +1,115 @@
+package com.perfectcherry.discovery;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+
+import com.perfectcherry.entity.UserAccount;
+import com.perfectcherry.pcenum.UserStatus;
+
+/**
+ * Preferences a discovery candidate has to satisfy: the requester's
+ * interestedIn, reciprocal interest in the requester's gender, an optional set
+ * of sexual orientations and an optional age range.
+ */
+public final class DiscoveryFilter {
+
+	public static final int NO_DOB = Integer.MIN_VALUE;
+
+	private final String gender;
+
+	private final String interestedIn;
+
+	private int sexualOrientationMask = -1;
+
+	private int minDobEpochDay = Integer.MIN_VALUE;
+
+	private int maxDobEpochDay = Integer.MAX_VALUE;
+
+	private DiscoveryFilter(String gender, String interestedIn) {
+		this.gender = gender;
+		this.interestedIn = interestedIn;
+	}
+
+	public static DiscoveryFilter of(UserAccount userAccount) {
+		return new DiscoveryFilter(userAccount.getInterestedIn(), userAccount.getGender());
+	}
+
+	public DiscoveryFilter withAgeRange(Integer minAge, Integer maxAge) {
+		LocalDate today = LocalDate.now();
+		if (minAge != null) {
+			maxDobEpochDay = (int) today.minusYears(minAge).toEpochDay();
+		}
+		if (maxAge != null) {
+			minDobEpochDay = (int) today.minusYears(maxAge + 1L).plusDays(1).toEpochDay();
+		}
+		return this;
+	}
+
+	public DiscoveryFilter withSexualOrientations(Collection<String> orientations) {
+		if (orientations != null && !orientations.isEmpty()) {
+			sexualOrientationMask = ProfileCodes.sexualOrientationMask(orientations);
+		}
+		return this;
+	}
+
+	/**
+	 * This filter without its age range and sexual orientations.
+	 */
+	public DiscoveryFilter genderPreferencesOnly() {
+		return new DiscoveryFilter(gender, interestedIn);
+	}
+
+	/**
+	 * Gender a candidate must have.
+	 */
+	public String getGender() {
+		return gender;
+	}
+
+	/**
+	 * Gender a candidate must be interested in.
+	 */
+	public String getInterestedIn() {
+		return interestedIn;
+	}
+
+	/**
+	 * Accepted sexual orientations as a ProfileCodes mask, -1 for any.
+	 */
+	public int getSexualOrientationMask() {
+		return sexualOrientationMask;
+	}
+
+	public boolean hasAgeRange() {
+		return minDobEpochDay != Integer.MIN_VALUE || maxDobEpochDay != Integer.MAX_VALUE;
+	}
+
+	public boolean acceptsDob(int dobEpochDay) {
+		if (dobEpochDay == NO_DOB) {
+			return !hasAgeRange();
+		}
+		return dobEpochDay >= minDobEpochDay && dobEpochDay <= maxDobEpochDay;
+	}
+
+	public boolean test(UserAccount candidate) {
+		return candidate.getStatus() == UserStatus.A.asChar() && gender != null
+				&& gender.equalsIgnoreCase(candidate.getGender()) && interestedIn != null
+				&& interestedIn.equalsIgnoreCase(candidate.getInterestedIn())
+				&& (sexualOrientationMask
+						& (1 << ProfileCodes.sexualOrientationCode(candidate.getSexualOrientation()))) != 0
+				&& acceptsDob(toEpochDay(candidate.getDob()));
+	}
+
+	public static int toEpochDay(Date dob) {
+		if (dob == null) {
+			return NO_DOB;
+		}
+		if (dob instanceof java.sql.Date) {
+			return (int) ((java.sql.Date) dob).toLocalDate().toEpochDay();
+		}
+		return (int) dob.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+	}
+
+}
@@ -0,0 +1,178 @@
+package com.perfectcherry.discovery;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.configuration.properties.DiscoveryConfigProperties;
+import com.perfectcherry.utility.GeoUtility;
+
+/**
+ * Discovery candidates shared by requesters in the same geohash cell with the
+ * same gender preferences and a similar radius. An entry holds every active
+ * account within reach of any requester in its cell, so per-request work is
+ * reduced to the exact distance check and personal filters.
+ */
+@Component
+public class DiscoveryResultCache {
+
+	@Autowired
+	private DiscoveryConfigProperties discoveryConfigProperties;
+
+	private final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(64, 0.75f, true) {
+
+		private static final long serialVersionUID = 2658416418035513270L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			return size() > discoveryConfigProperties.getResultCacheMaxEntries();
+		}
+	};
+
+	public boolean isEnabled() {
+		return discoveryConfigProperties.isResultCacheEnabled();
+	}
+
+	public Key keyFor(double latitude, double longitude, double km, String gender, String interestedIn) {
+		int precision = Math.max(1,
+				Math.min(GeoUtility.MAX_GEOHASH_PRECISION, discoveryConfigProperties.getResultCachePrecision()));
+		double bucketKm = Math.max(1, discoveryConfigProperties.getResultCacheRadiusBucketKm());
+		return new Key(GeoUtility.latitudeIndex(latitude, precision), GeoUtility.longitudeIndex(longitude, precision),
+				precision, (int) Math.ceil(Math.max(0, km) / bucketKm), bucketKm, gender, interestedIn);
+	}
+
+	/**
+	 * Cached candidate ids for the key, or null when absent or expired.
+	 */
+	public synchronized long[] get(Key key) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (System.currentTimeMillis() - entry.createdAt > TimeUnit.SECONDS
+				.toMillis(discoveryConfigProperties.getResultCacheTtlSeconds())) {
+			entries.remove(key);
+			return null;
+		}
+		return entry.userAccountIds;
+	}
+
+	public synchronized void put(Key key, long[] userAccountIds) {
+		entries.put(key, new Entry(userAccountIds));
+	}
+
+	/**
+	 * An account at the given position was added, moved, changed or removed;
+	 * drops every entry whose area covers it.
+	 */
+	public synchronized void invalidate(double latitude, double longitude) {
+		if (!entries.isEmpty()) {
+			entries.keySet().removeIf(key -> key.covers(latitude, longitude));
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public static final class Key {
+
+		private final int latitudeIndex;
+
+		private final int longitudeIndex;
+
+		private final int precision;
+
+		private final int radiusBucket;
+
+		private final String gender;
+
+		private final String interestedIn;
+
+		private final double centreLatitude;
+
+		private final double centreLongitude;
+
+		private final double coverageKm;
+
+		private Key(int latitudeIndex, int longitudeIndex, int precision, int radiusBucket, double bucketKm,
+				String gender, String interestedIn) {
+			this.latitudeIndex = latitudeIndex;
+			this.longitudeIndex = longitudeIndex;
+			this.precision = precision;
+			this.radiusBucket = radiusBucket;
+			this.gender = gender == null ? null : gender.toLowerCase();
+			this.interestedIn = interestedIn == null ? null : interestedIn.toLowerCase();
+			double latCellSize = GeoUtility.latitudeCellSize(precision);
+			double lonCellSize = GeoUtility.longitudeCellSize(precision);
+			centreLatitude = -90 + (latitudeIndex + 0.5) * latCellSize;
+			centreLongitude = -180 + (longitudeIndex + 0.5) * lonCellSize;
+			double halfDiagonalKm = Math.max(
+					GeoUtility.distanceInKm(centreLatitude, centreLongitude, centreLatitude - latCellSize / 2,
+							centreLongitude + lonCellSize / 2),
+					GeoUtility.distanceInKm(centreLatitude, centreLongitude, centreLatitude + latCellSize / 2,
+							centreLongitude + lonCellSize / 2));
+			coverageKm = radiusBucket * bucketKm + halfDiagonalKm;
+		}
+
+		public double getCentreLatitude() {
+			return centreLatitude;
+		}
+
+		public double getCentreLongitude() {
+			return centreLongitude;
+		}
+
+		/**
+		 * Radius around the cell centre holding every account within the bucket's
+		 * radius of any position in the cell.
+		 */
+		public double getCoverageKm() {
+			return coverageKm;
+		}
+
+		private boolean covers(double latitude, double longitude) {
+			return GeoUtility.distanceInKm(centreLatitude, centreLongitude, latitude, longitude) <= coverageKm;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return latitudeIndex == other.latitudeIndex && longitudeIndex == other.longitudeIndex
+					&& precision == other.precision && radiusBucket == other.radiusBucket
+					&& coverageKm == other.coverageKm && Objects.equals(gender, other.gender)
+					&& Objects.equals(interestedIn, other.interestedIn);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(latitudeIndex, longitudeIndex, precision, radiusBucket, gender, interestedIn);
+		}
+	}
+
+	private static final class Entry {
+
+		private final long[] userAccountIds;
+
+		private final long createdAt = System.currentTimeMillis();
+
+		private Entry(long[] userAccountIds) {
+			this.userAccountIds = userAccountIds;
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.perfectcherry.discovery;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over the userAccountIds one user has an interest row with.
+ * Adds are lock-free so the filter can be updated while discovery reads it.
+ */
+public final class InteractionBloomFilter {
+
+	private final AtomicLongArray bits;
+
+	private final int bitCount;
+
+	private final int hashCount;
+
+	private final int capacity;
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	public InteractionBloomFilter(int capacity, double falsePositiveRate) {
+		this.capacity = capacity;
+		double ln2 = Math.log(2);
+		long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+		this.bitCount = (int) Math.max(Long.SIZE, Math.min(Integer.MAX_VALUE - Long.SIZE, optimalBits));
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+		this.bits = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+	}
+
+	/**
+	 * Sets the bits of the id. Only counts towards the size when at least one
+	 * bit was still clear, so adding an id again does not saturate the filter.
+	 */
+	public boolean add(long userAccountId) {
+		long hash = mix(userAccountId);
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+		boolean changed = false;
+		for (int i = 1; i <= hashCount; i++) {
+			int bit = Math.floorMod(hash1 + i * hash2, bitCount);
+			long mask = 1L << bit;
+			int word = bit >>> 6;
+			long current;
+			do {
+				current = bits.get(word);
+				if ((current & mask) != 0) {
+					break;
+				}
+			} while (!bits.compareAndSet(word, current, current | mask));
+			changed |= (current & mask) == 0;
+		}
+		if (changed) {
+			size.incrementAndGet();
+		}
+		return changed;
+	}
+
+	public boolean mightContain(long userAccountId) {
+		long hash = mix(userAccountId);
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashCount; i++) {
+			int bit = Math.floorMod(hash1 + i * hash2, bitCount);
+			if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * True once more ids have been added than the filter was sized for, after
+	 * which its false positive rate degrades.
+	 */
+	public boolean isSaturated() {
+		return size.get() > capacity;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	private static long mix(long value) {
+		long z = value + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
@@ -0,0 +1,182 @@
+package com.perfectcherry.discovery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongPredicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.configuration.properties.DiscoveryConfigProperties;
+import com.perfectcherry.dto.InterestPair;
+import com.perfectcherry.interest.InterestGraph;
+import com.perfectcherry.repository.InterestRepository;
+
+/**
+ * Per-user Bloom filters of the users someone already has an interest row
+ * with, in either direction, so discovery can skip them without a query.
+ * Cancelled interests are not removed: Bloom filters cannot forget, so their
+ * bits stay behind as false positives that the interest graph rejects, until
+ * the filter saturates and is rebuilt.
+ */
+@Component
+public class InteractionIndex {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private Logger logger = LogManager.getLogger(InteractionIndex.class);
+
+	@Autowired
+	private InterestRepository interestRepository;
+
+	@Autowired
+	private DiscoveryConfigProperties discoveryConfigProperties;
+
+	@Autowired
+	private InterestGraph interestGraph;
+
+	private volatile ConcurrentMap<Long, InteractionBloomFilter> filters = new ConcurrentHashMap<>();
+
+	/**
+	 * Writes received while load() reads the interest pairs, replayed on top of
+	 * them.
+	 */
+	private final List<Runnable> pendingWrites = new ArrayList<>();
+
+	private volatile boolean loading;
+
+	private volatile boolean ready;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		if (!discoveryConfigProperties.isIndexEnabled()) {
+			return;
+		}
+		setLoading(true);
+		try {
+			List<InterestPair> pairs = interestRepository.findAllInterestPairs();
+			Map<Long, Integer> counts = new HashMap<>();
+			pairs.forEach(pair -> {
+				counts.merge(pair.getUserId(), 1, Integer::sum);
+				counts.merge(pair.getInterestedOn(), 1, Integer::sum);
+			});
+			ConcurrentMap<Long, InteractionBloomFilter> loaded = new ConcurrentHashMap<>();
+			counts.forEach((userId, count) -> loaded.put(userId, newFilter(2 * count)));
+			pairs.forEach(pair -> {
+				loaded.get(pair.getUserId()).add(pair.getInterestedOn());
+				loaded.get(pair.getInterestedOn()).add(pair.getUserId());
+			});
+			filters = loaded;
+			List<Runnable> writes;
+			synchronized (pendingWrites) {
+				loading = false;
+				ready = true;
+				writes = new ArrayList<>(pendingWrites);
+				pendingWrites.clear();
+			}
+			writes.forEach(Runnable::run);
+			logger.info(String.format("Loaded interaction filters for %s users", loaded.size()));
+		} catch (RuntimeException e) {
+			logger.error(String.format("Unable to load the interaction filters : %s", e.toString()));
+		} finally {
+			setLoading(false);
+		}
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * False only when the two users certainly have no interest row between them.
+	 */
+	public boolean mightHaveInteracted(long userId, long otherUserId) {
+		InteractionBloomFilter filter = filters.get(userId);
+		return filter != null && filter.mightContain(otherUserId);
+	}
+
+	/**
+	 * Accepts users the given user has no interest row with. Bloom filter
+	 * positives are confirmed against the interest graph when it is loaded, and
+	 * the interest table is used while neither is.
+	 */
+	public LongPredicate notInteractedWith(long userId) {
+		if (ready && interestGraph.isReady()) {
+			return otherUserId -> !mightHaveInteracted(userId, otherUserId)
+					|| !interestGraph.isConnected(userId, otherUserId);
+		}
+		if (ready) {
+			return otherUserId -> !mightHaveInteracted(userId, otherUserId);
+		}
+		if (interestGraph.isReady()) {
+			return otherUserId -> !interestGraph.isConnected(userId, otherUserId);
+		}
+		Set<Long> interactedUserIds = new HashSet<>(interestRepository.interactedUserIds(userId));
+		return otherUserId -> !interactedUserIds.contains(otherUserId);
+	}
+
+	public void recordInteraction(Long userId, Long interestedOn) {
+		if (deferWhileLoading(() -> recordInteraction(userId, interestedOn))) {
+			return;
+		}
+		add(userId, interestedOn);
+		add(interestedOn, userId);
+	}
+
+	private void setLoading(boolean loading) {
+		synchronized (pendingWrites) {
+			this.loading = loading;
+			pendingWrites.clear();
+		}
+	}
+
+	/**
+	 * Queues the write for replay while a load is running. True when the caller
+	 * should not apply it now because the filters are not ready.
+	 */
+	private boolean deferWhileLoading(Runnable write) {
+		if (ready && !loading) {
+			return false;
+		}
+		synchronized (pendingWrites) {
+			if (loading) {
+				pendingWrites.add(write);
+			}
+			return !ready;
+		}
+	}
+
+	private void add(Long userId, Long otherUserId) {
+		InteractionBloomFilter filter = filters.computeIfAbsent(userId, key -> newFilter(MIN_CAPACITY));
+		if (filter.add(otherUserId) && filter.isSaturated()) {
+			rebuild(userId);
+		}
+	}
+
+	private void rebuild(Long userId) {
+		List<Long> interactedUserIds = interestRepository.interactedUserIds(userId);
+		if (interactedUserIds.isEmpty()) {
+			filters.remove(userId);
+			return;
+		}
+		InteractionBloomFilter filter = newFilter(2 * interactedUserIds.size());
+		interactedUserIds.forEach(filter::add);
+		filters.put(userId, filter);
+	}
+
+	private InteractionBloomFilter newFilter(int expectedInteractions) {
+		return new InteractionBloomFilter(Math.max(MIN_CAPACITY, expectedInteractions),
+				discoveryConfigProperties.getInteractionFalsePositiveRate());
+	}
+
+}
@@ -0,0 +1,148 @@
+package com.perfectcherry.discovery;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from long keys to non-negative int values, without
+ * boxing. Removal uses backward-shift deletion so no tombstones build up.
+ */
+public final class LongIntHashMap {
+
+	public static final int NO_VALUE = -1;
+
+	private static final double MAX_LOAD = 0.6;
+
+	private long[] keys;
+
+	private int[] values;
+
+	private int mask;
+
+	private int size;
+
+	public LongIntHashMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+		allocate(capacity);
+	}
+
+	public LongIntHashMap(LongIntHashMap other) {
+		keys = other.keys.clone();
+		values = other.values.clone();
+		mask = other.mask;
+		size = other.size;
+	}
+
+	public int get(long key) {
+		for (int index = index(key);; index = (index + 1) & mask) {
+			if (values[index] == NO_VALUE) {
+				return NO_VALUE;
+			}
+			if (keys[index] == key) {
+				return values[index];
+			}
+		}
+	}
+
+	/**
+	 * Maps the key to a value and returns the previous value, or
+	 * {@link #NO_VALUE}.
+	 */
+	public int put(long key, int value) {
+		int index = index(key);
+		for (; values[index] != NO_VALUE; index = (index + 1) & mask) {
+			if (keys[index] == key) {
+				int previous = values[index];
+				values[index] = value;
+				return previous;
+			}
+		}
+		keys[index] = key;
+		values[index] = value;
+		if (++size > MAX_LOAD * keys.length) {
+			rehash(keys.length << 1);
+		}
+		return NO_VALUE;
+	}
+
+	public int remove(long key) {
+		int index = index(key);
+		for (; values[index] != NO_VALUE; index = (index + 1) & mask) {
+			if (keys[index] == key) {
+				int previous = values[index];
+				shiftBack(index);
+				size--;
+				return previous;
+			}
+		}
+		return NO_VALUE;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void forEach(Entry action) {
+		for (int i = 0; i < keys.length; i++) {
+			if (values[i] != NO_VALUE) {
+				action.accept(keys[i], values[i]);
+			}
+		}
+	}
+
+	public void clear() {
+		Arrays.fill(values, NO_VALUE);
+		size = 0;
+	}
+
+	private void shiftBack(int gap) {
+		int index = gap;
+		while (true) {
+			index = (index + 1) & mask;
+			if (values[index] == NO_VALUE) {
+				break;
+			}
+			int home = index(keys[index]);
+			if (((index - home) & mask) >= ((index - gap) & mask)) {
+				keys[gap] = keys[index];
+				values[gap] = values[index];
+				gap = index;
+			}
+		}
+		values[gap] = NO_VALUE;
+	}
+
+	private int index(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] != NO_VALUE) {
+				int index = index(oldKeys[i]);
+				while (values[index] != NO_VALUE) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		Arrays.fill(values, NO_VALUE);
+		mask = capacity - 1;
+	}
+
+	@FunctionalInterface
+	public interface Entry {
+
+		void accept(long key, int value);
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.perfectcherry.discovery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.configuration.properties.DiscoveryConfigProperties;
+
+/**
+ * Scores retrieved candidates and keeps the best K in bounded heaps. Large
+ * candidate sets are split across a dedicated ForkJoinPool so ranking never
+ * competes with other users of the common pool.
+ */
+@Component
+public class MatchRanker {
+
+	private static final int SEQUENTIAL_THRESHOLD = 2048;
+
+	@Autowired
+	private DiscoveryConfigProperties discoveryConfigProperties;
+
+	private ForkJoinPool rankingPool;
+
+	@PostConstruct
+	public void init() {
+		int parallelism = discoveryConfigProperties.getRankingParallelism() > 0
+				? discoveryConfigProperties.getRankingParallelism()
+				: Runtime.getRuntime().availableProcessors();
+		rankingPool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * The {@code k} best scored candidates, best first. The store must not be
+	 * modified until this returns.
+	 */
+	public List<RankedMatch> topMatches(CandidateStore candidateStore, int[] slots, double[] distances, int count,
+			MatchScorer scorer, int k) {
+		if (count == 0 || k <= 0) {
+			return Collections.emptyList();
+		}
+		PriorityQueue<RankedMatch> best = count <= SEQUENTIAL_THRESHOLD
+				? rank(candidateStore, slots, distances, 0, count, scorer, k)
+				: rankingPool.invoke(new RankTask(candidateStore, slots, distances, 0, count, scorer, k));
+		List<RankedMatch> matches = new ArrayList<>(best);
+		matches.sort(RankedMatch.BEST_FIRST);
+		return matches;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		rankingPool.shutdown();
+	}
+
+	private static PriorityQueue<RankedMatch> rank(CandidateStore candidateStore, int[] slots, double[] distances,
+			int from, int to, MatchScorer scorer, int k) {
+		PriorityQueue<RankedMatch> best = new PriorityQueue<>(k + 1, RankedMatch.BEST_FIRST.reversed());
+		for (int i = from; i < to; i++) {
+			double score = scorer.score(candidateStore, slots[i], distances[i]);
+			if (best.size() == k && score < best.peek().getScore()) {
+				continue;
+			}
+			offer(best, new RankedMatch(candidateStore.userAccountId(slots[i]), distances[i], score), k);
+		}
+		return best;
+	}
+
+	private static void offer(PriorityQueue<RankedMatch> best, RankedMatch match, int k) {
+		best.add(match);
+		if (best.size() > k) {
+			best.poll();
+		}
+	}
+
+	private static final class RankTask extends RecursiveTask<PriorityQueue<RankedMatch>> {
+
+		private static final long serialVersionUID = -4139620951287064378L;
+
+		private final transient CandidateStore candidateStore;
+
+		private final int[] slots;
+
+		private final double[] distances;
+
+		private final int from;
+
+		private final int to;
+
+		private final transient MatchScorer scorer;
+
+		private final int k;
+
+		private RankTask(CandidateStore candidateStore, int[] slots, double[] distances, int from, int to,
+				MatchScorer scorer, int k) {
+			this.candidateStore = candidateStore;
+			this.slots = slots;
+			this.distances = distances;
+			this.from = from;
+			this.to = to;
+			this.scorer = scorer;
+			this.k = k;
+		}
+
+		@Override
+		protected PriorityQueue<RankedMatch> compute() {
+			if (to - from <= SEQUENTIAL_THRESHOLD) {
+				return rank(candidateStore, slots, distances, from, to, scorer, k);
+			}
+			int middle = (from + to) >>> 1;
+			RankTask left = new RankTask(candidateStore, slots, distances, from, middle, scorer, k);
+			left.fork();
+			PriorityQueue<RankedMatch> best = new RankTask(candidateStore, slots, distances, middle, to, scorer, k)
+					.compute();
+			for (RankedMatch match : left.join()) {
+				offer(best, match, k);
+			}
+			return best;
+		}
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.perfectcherry.discovery;
+
+import java.util.concurrent.TimeUnit;
+
+import com.perfectcherry.entity.UserAccount;
+
+/**
+ * Compatibility score of a candidate for one requester, between 0 and 1.
+ * Combines closeness within the requester's radius, age gap, shared
+ * education, livingIn and jobTitle, and how recently the candidate updated
+ * their profile.
+ */
+public final class MatchScorer {
+
+	private static final double DISTANCE_WEIGHT = 0.4;
+
+	private static final double AGE_WEIGHT = 0.2;
+
+	private static final double SHARED_ATTRIBUTE_WEIGHT = 0.25;
+
+	private static final double RECENCY_WEIGHT = 0.15;
+
+	private static final double AGE_GAP_SCALE_DAYS = 5 * 365.25;
+
+	private static final double RECENCY_HALF_LIFE_MINUTES = TimeUnit.DAYS.toMinutes(30);
+
+	private final double km;
+
+	private final int dobEpochDay;
+
+	private final int educationHash;
+
+	private final int livingInHash;
+
+	private final int jobTitleHash;
+
+	private final int nowEpochMinute;
+
+	private MatchScorer(UserAccount requester) {
+		this.km = Math.max(1, requester.getPeopleWithinKm());
+		this.dobEpochDay = DiscoveryFilter.toEpochDay(requester.getDob());
+		this.educationHash = ProfileCodes.attributeHash(requester.getEducation());
+		this.livingInHash = ProfileCodes.attributeHash(requester.getLivingIn());
+		this.jobTitleHash = ProfileCodes.attributeHash(requester.getJobTitle());
+		this.nowEpochMinute = (int) TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+	}
+
+	public static MatchScorer of(UserAccount requester) {
+		return new MatchScorer(requester);
+	}
+
+	public double score(CandidateStore candidateStore, int slot, double distance) {
+		return score(distance, candidateStore.dobEpochDay(slot), candidateStore.educationHash(slot),
+				candidateStore.livingInHash(slot), candidateStore.jobTitleHash(slot),
+				candidateStore.updatedEpochMinute(slot));
+	}
+
+	public double score(UserAccount candidate, double distance) {
+		return score(distance, DiscoveryFilter.toEpochDay(candidate.getDob()),
+				ProfileCodes.attributeHash(candidate.getEducation()),
+				ProfileCodes.attributeHash(candidate.getLivingIn()),
+				ProfileCodes.attributeHash(candidate.getJobTitle()),
+				ProfileCodes.epochMinute(candidate.getUpdatedDate()));
+	}
+
+	private double score(double distance, int candidateDobEpochDay, int candidateEducationHash,
+			int candidateLivingInHash, int candidateJobTitleHash, int candidateUpdatedEpochMinute) {
+		double distanceScore = Math.max(0, 1 - distance / km);
+		double ageScore = 0;
+		if (dobEpochDay != DiscoveryFilter.NO_DOB && candidateDobEpochDay != DiscoveryFilter.NO_DOB) {
+			ageScore = 1 / (1 + Math.abs(dobEpochDay - candidateDobEpochDay) / AGE_GAP_SCALE_DAYS);
+		}
+		int shared = shares(educationHash, candidateEducationHash) + shares(livingInHash, candidateLivingInHash)
+				+ shares(jobTitleHash, candidateJobTitleHash);
+		double recencyScore = 0;
+		if (candidateUpdatedEpochMinute > 0) {
+			double ageMinutes = Math.max(0, nowEpochMinute - candidateUpdatedEpochMinute);
+			recencyScore = Math.pow(0.5, ageMinutes / RECENCY_HALF_LIFE_MINUTES);
+		}
+		return DISTANCE_WEIGHT * distanceScore + AGE_WEIGHT * ageScore + SHARED_ATTRIBUTE_WEIGHT * shared / 3
+				+ RECENCY_WEIGHT * recencyScore;
+	}
+
+	private static int shares(int hash, int candidateHash) {
+		return hash != 0 && hash == candidateHash ? 1 : 0;
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.perfectcherry.discovery;
+
+public final class NearbyUser {
+
+	private final long userAccountId;
+
+	private final double distance;
+
+	public NearbyUser(long userAccountId, double distance) {
+		this.userAccountId = userAccountId;
+		this.distance = distance;
+	}
+
+	public long getUserAccountId() {
+		return userAccountId;
+	}
+
+	public double getDistance() {
+		return distance;
+	}
+
+	@Override
+	public String toString() {
+		return "NearbyUser [userAccountId=" + userAccountId + ", distance=" + distance + "]";
+	}
+
+}
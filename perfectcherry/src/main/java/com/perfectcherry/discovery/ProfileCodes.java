@@ -0,0 +1,88 @@
+package com.perfectcherry.discovery;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.perfectcherry.utility.RegistrationUtility;
+
+/**
+ * Compact encodings of profile attributes for the candidate store: one-byte
+ * codes for the gender, interestedIn and sexual orientation values accepted at
+ * registration, and hashes of free-text attributes. Gender and interestedIn share one code space so
+ * they can be compared directly; {@link #UNKNOWN} never matches anything.
+ */
+public final class ProfileCodes {
+
+	public static final byte UNKNOWN = 0;
+
+	private static final Map<String, Byte> GENDER_CODES = new HashMap<>();
+
+	private static final Map<String, Byte> SEXUAL_ORIENTATION_CODES = new HashMap<>();
+
+	static {
+		addCodes(GENDER_CODES, RegistrationUtility.getGenderList());
+		addCodes(GENDER_CODES, RegistrationUtility.getInterestedInList());
+		addCodes(SEXUAL_ORIENTATION_CODES, RegistrationUtility.getSexualOrientationList());
+	}
+
+	private ProfileCodes() {
+	}
+
+	public static byte genderCode(String gender) {
+		return code(GENDER_CODES, gender);
+	}
+
+	public static byte sexualOrientationCode(String sexualOrientation) {
+		return code(SEXUAL_ORIENTATION_CODES, sexualOrientation);
+	}
+
+	/**
+	 * Bit mask with one bit set per orientation code, or -1 when any
+	 * orientation is accepted.
+	 */
+	public static int sexualOrientationMask(Iterable<String> sexualOrientations) {
+		if (sexualOrientations == null) {
+			return -1;
+		}
+		int mask = 0;
+		for (String sexualOrientation : sexualOrientations) {
+			byte code = sexualOrientationCode(sexualOrientation);
+			if (code != UNKNOWN) {
+				mask |= 1 << code;
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Case-insensitive hash of a free-text profile attribute, or 0 when it is
+	 * empty. Equal hashes are treated as a shared attribute.
+	 */
+	public static int attributeHash(String value) {
+		if (value == null || value.trim().isEmpty()) {
+			return 0;
+		}
+		int hash = value.trim().toLowerCase(Locale.ROOT).hashCode();
+		return hash == 0 ? 1 : hash;
+	}
+
+	public static int epochMinute(Date date) {
+		return date == null ? 0 : (int) TimeUnit.MILLISECONDS.toMinutes(date.getTime());
+	}
+
+	private static byte code(Map<String, Byte> codes, String value) {
+		if (value == null) {
+			return UNKNOWN;
+		}
+		return codes.getOrDefault(value.toLowerCase(Locale.ROOT), UNKNOWN);
+	}
+
+	private static void addCodes(Map<String, Byte> codes, List<String> values) {
+		values.forEach(value -> codes.putIfAbsent(value.toLowerCase(Locale.ROOT), (byte) (codes.size() + 1)));
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.perfectcherry.discovery;
+
+import java.util.Comparator;
+
+public final class RankedMatch {
+
+	public static final Comparator<RankedMatch> BEST_FIRST = Comparator.comparingDouble(RankedMatch::getScore)
+			.reversed().thenComparingDouble(RankedMatch::getDistance).thenComparingLong(RankedMatch::getUserAccountId);
+
+	private final long userAccountId;
+
+	private final double distance;
+
+	private final double score;
+
+	public RankedMatch(long userAccountId, double distance, double score) {
+		this.userAccountId = userAccountId;
+		this.distance = distance;
+		this.score = score;
+	}
+
+	public long getUserAccountId() {
+		return userAccountId;
+	}
+
+	public double getDistance() {
+		return distance;
+	}
+
+	public double getScore() {
+		return score;
+	}
+
+	@Override
+	public String toString() {
+		return "RankedMatch [userAccountId=" + userAccountId + ", distance=" + distance + ", score=" + score + "]";
+	}
+
+}
@@ -0,0 +1,580 @@
+package com.perfectcherry.discovery;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.configuration.properties.DiscoveryConfigProperties;
+import com.perfectcherry.dto.DiscoveryProfile;
+import com.perfectcherry.entity.UserAccount;
+import com.perfectcherry.pcenum.UserStatus;
+import com.perfectcherry.repository.UserAccountRepository;
+import com.perfectcherry.utility.GeoUtility;
+
+/**
+ * In-process geohash index over active user accounts, used to answer radius
+ * queries without scanning the useraccount table. Profiles live in an off-heap
+ * {@link CandidateStore}; the geohash cells only hold slot numbers, so a scan
+ * filters and measures candidates without allocating per candidate.
+ */
+@Component
+public class UserLocationIndex {
+
+	private static final Comparator<NearbyUser> NEAREST_FIRST = Comparator.comparingDouble(NearbyUser::getDistance)
+			.thenComparingLong(NearbyUser::getUserAccountId);
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private Logger logger = LogManager.getLogger(UserLocationIndex.class);
+
+	@Autowired
+	private UserAccountRepository userAccountRepository;
+
+	@Autowired
+	private DiscoveryConfigProperties discoveryConfigProperties;
+
+	@Autowired
+	private MatchRanker matchRanker;
+
+	@Autowired
+	private DiscoveryResultCache discoveryResultCache;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final CandidateStore candidateStore = new CandidateStore(INITIAL_CAPACITY);
+
+	private final Map<Long, Cell> cells = new HashMap<>();
+
+	/**
+	 * Writes received while load() reads the profiles, replayed on top of them.
+	 * Guarded by the write lock.
+	 */
+	private final List<Runnable> pendingWrites = new ArrayList<>();
+
+	private volatile boolean loading;
+
+	private volatile boolean ready;
+
+	private int precision;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		if (!discoveryConfigProperties.isIndexEnabled()) {
+			return;
+		}
+		precision = Math.max(1, Math.min(GeoUtility.MAX_GEOHASH_PRECISION,
+				discoveryConfigProperties.getGeoHashPrecision()));
+		setLoading(true);
+		try {
+			List<DiscoveryProfile> profiles = userAccountRepository.findActiveDiscoveryProfiles();
+			lock.writeLock().lock();
+			try {
+				candidateStore.clear();
+				cells.clear();
+				discoveryResultCache.clear();
+				profiles.forEach(this::index);
+				loading = false;
+				ready = true;
+				List<Runnable> writes = new ArrayList<>(pendingWrites);
+				pendingWrites.clear();
+				writes.forEach(Runnable::run);
+			} finally {
+				lock.writeLock().unlock();
+			}
+			logger.info(String.format("Loaded %s active user profiles into the discovery index", candidateStore.size()));
+		} catch (RuntimeException e) {
+			logger.error(String.format("Unable to load the discovery index : %s", e.toString()));
+		} finally {
+			setLoading(false);
+		}
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	public boolean isIndexed(long userAccountId) {
+		lock.readLock().lock();
+		try {
+			return candidateStore.slotOf(userAccountId) != LongIntHashMap.NO_VALUE;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void put(UserAccount userAccount) {
+		if (deferWhileLoading(() -> put(userAccount))) {
+			return;
+		}
+		if (userAccount.getStatus() != UserStatus.A.asChar() || userAccount.getLatitude() == null
+				|| userAccount.getLongitude() == null) {
+			remove(userAccount.getUserAccountId());
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			unindex(userAccount.getUserAccountId());
+			index(new UserAccountProfile(userAccount));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Long userAccountId) {
+		if (userAccountId == null || deferWhileLoading(() -> remove(userAccountId))) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			unindex(userAccountId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void setLoading(boolean loading) {
+		lock.writeLock().lock();
+		try {
+			this.loading = loading;
+			pendingWrites.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Queues the write for replay while a load is running. True when the caller
+	 * should not apply it now because the index is not ready.
+	 */
+	private boolean deferWhileLoading(Runnable write) {
+		if (ready && !loading) {
+			return false;
+		}
+		lock.writeLock().lock();
+		try {
+			if (loading) {
+				pendingWrites.add(write);
+			}
+			return !ready;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * The next {@code limit} accepted users after the cursor, nearest first. Only
+	 * the page itself is kept while scanning, in a bounded max-heap.
+	 */
+	public List<NearbyUser> findPageWithinKm(long excludeUserAccountId, double latitude, double longitude, double km,
+			DiscoveryFilter filter, DiscoveryCursor after, int limit, LongPredicate accept) {
+		PriorityQueue<NearbyUser> page = new PriorityQueue<>(limit + 1, NEAREST_FIRST.reversed());
+		lock.readLock().lock();
+		try {
+			scan(excludeUserAccountId, latitude, longitude, km, filter, (slot, distance) -> {
+				long userAccountId = candidateStore.userAccountId(slot);
+				if (after != null && !after.isBefore(distance, userAccountId)) {
+					return;
+				}
+				if (page.size() == limit) {
+					NearbyUser farthest = page.peek();
+					if (distance > farthest.getDistance()
+							|| (distance == farthest.getDistance() && userAccountId > farthest.getUserAccountId())) {
+						return;
+					}
+				}
+				if (accept.test(userAccountId)) {
+					page.add(new NearbyUser(userAccountId, distance));
+					if (page.size() > limit) {
+						page.poll();
+					}
+				}
+			});
+		} finally {
+			lock.readLock().unlock();
+		}
+		List<NearbyUser> nearbyUsers = new ArrayList<>(page);
+		nearbyUsers.sort(NEAREST_FIRST);
+		return nearbyUsers;
+	}
+
+	/**
+	 * The {@code k} best scored users matching the filter within the given
+	 * distance of a position, best first.
+	 */
+	public List<RankedMatch> findTopMatchesWithinKm(long excludeUserAccountId, double latitude, double longitude,
+			double km, DiscoveryFilter filter, LongPredicate accept, MatchScorer scorer, int k) {
+		lock.readLock().lock();
+		try {
+			CandidateBuffer candidates = new CandidateBuffer();
+			scan(excludeUserAccountId, latitude, longitude, km, filter, (slot, distance) -> {
+				if (accept.test(candidateStore.userAccountId(slot))) {
+					candidates.add(slot, distance);
+				}
+			});
+			return matchRanker.topMatches(candidateStore, candidates.slots, candidates.distances, candidates.size,
+					scorer, k);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * The {@code count} accepted users matching the filter nearest to a
+	 * position, whatever their distance, nearest first. Geohash cells are
+	 * searched in rings of growing size until no unvisited cell can hold a
+	 * nearer user, falling back to a scan of every cell when the rings would
+	 * cost more than that.
+	 */
+	public List<NearbyUser> findNearest(long excludeUserAccountId, double latitude, double longitude,
+			DiscoveryFilter filter, LongPredicate accept, int count) {
+		PriorityQueue<NearbyUser> nearest = new PriorityQueue<>(count + 1, NEAREST_FIRST.reversed());
+		SlotVisitor collect = (slot, distance) -> {
+			long userAccountId = candidateStore.userAccountId(slot);
+			if (nearest.size() == count) {
+				NearbyUser farthest = nearest.peek();
+				if (distance > farthest.getDistance()
+						|| (distance == farthest.getDistance() && userAccountId > farthest.getUserAccountId())) {
+					return;
+				}
+			}
+			if (accept.test(userAccountId)) {
+				nearest.add(new NearbyUser(userAccountId, distance));
+				if (nearest.size() > count) {
+					nearest.poll();
+				}
+			}
+		};
+		lock.readLock().lock();
+		try {
+			int latIndex = GeoUtility.latitudeIndex(latitude, precision);
+			int lonIndex = GeoUtility.longitudeIndex(longitude, precision);
+			int lonCells = GeoUtility.longitudeCells(precision);
+			long lookups = 0;
+			int visitedCells = 0;
+			for (int ring = 0; visitedCells < cells.size(); ring++) {
+				if (2 * ring + 1 > lonCells || lookups + 8L * ring > cells.size()) {
+					nearest.clear();
+					scanCells(cells.values(), excludeUserAccountId, latitude, longitude, Double.MAX_VALUE, filter,
+							collect);
+					break;
+				}
+				List<Cell> ringCells = new ArrayList<>();
+				lookups += collectRing(latIndex, lonIndex, ring, ringCells);
+				visitedCells += ringCells.size();
+				scanCells(ringCells, excludeUserAccountId, latitude, longitude, Double.MAX_VALUE, filter, collect);
+				if (nearest.size() == count && nearest.peek().getDistance() <= ringClearanceKm(latitude, ring)) {
+					break;
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		List<NearbyUser> nearbyUsers = new ArrayList<>(nearest);
+		nearbyUsers.sort(NEAREST_FIRST);
+		return nearbyUsers;
+	}
+
+	private int collectRing(int latIndex, int lonIndex, int ring, List<Cell> ringCells) {
+		int latCells = GeoUtility.latitudeCells(precision);
+		int lonCells = GeoUtility.longitudeCells(precision);
+		int lookups = 0;
+		for (int dLat = -ring; dLat <= ring; dLat++) {
+			int cellLatIndex = latIndex + dLat;
+			if (cellLatIndex < 0 || cellLatIndex >= latCells) {
+				continue;
+			}
+			int step = Math.abs(dLat) == ring ? 1 : Math.max(1, 2 * ring);
+			for (int dLon = -ring; dLon <= ring; dLon += step) {
+				lookups++;
+				Cell cell = cells.get(GeoUtility.cellKey(cellLatIndex,
+						Math.floorMod(lonIndex + dLon, lonCells), precision));
+				if (cell != null) {
+					ringCells.add(cell);
+				}
+			}
+		}
+		return lookups;
+	}
+
+	/**
+	 * Lower bound on the distance from a position to any cell outside the
+	 * first {@code ring} rings around its own cell. East and west the bound is
+	 * taken at whichever edge of the scanned band lies nearer a pole, where
+	 * the meridians are closest together.
+	 */
+	private double ringClearanceKm(double latitude, int ring) {
+		double latCellSize = GeoUtility.latitudeCellSize(precision);
+		double latKm = ring * latCellSize * GeoUtility.KM_PER_DEGREE;
+		double lonDegrees = Math.min(180, ring * GeoUtility.longitudeCellSize(precision));
+		double northEdge = Math.min(90, latitude + (ring + 1) * latCellSize);
+		double southEdge = Math.max(-90, latitude - (ring + 1) * latCellSize);
+		double lonKm = Math.min(GeoUtility.distanceInKm(northEdge, 0, northEdge, lonDegrees),
+				GeoUtility.distanceInKm(southEdge, 0, southEdge, lonDegrees));
+		return Math.min(latKm, lonKm);
+	}
+
+	private void scan(long excludeUserAccountId, double latitude, double longitude, double km,
+			DiscoveryFilter filter, SlotVisitor visitor) {
+		if (!discoveryResultCache.isEnabled()) {
+			scanCells(candidateCells(latitude, longitude, km), excludeUserAccountId, latitude, longitude, km,
+					filter, visitor);
+			return;
+		}
+		byte gender = ProfileCodes.genderCode(filter.getGender());
+		byte interestedIn = ProfileCodes.genderCode(filter.getInterestedIn());
+		int sexualOrientationMask = filter.getSexualOrientationMask();
+		if (gender == ProfileCodes.UNKNOWN || interestedIn == ProfileCodes.UNKNOWN || sexualOrientationMask == 0) {
+			return;
+		}
+		for (long userAccountId : sharedCandidates(latitude, longitude, km, filter)) {
+			int slot = candidateStore.slotOf(userAccountId);
+			if (slot == LongIntHashMap.NO_VALUE || userAccountId == excludeUserAccountId
+					|| !candidateStore.matches(slot, gender, interestedIn, sexualOrientationMask)
+					|| !filter.acceptsDob(candidateStore.dobEpochDay(slot))) {
+				continue;
+			}
+			double distance = GeoUtility.distanceInKm(latitude, longitude, candidateStore.latitude(slot),
+					candidateStore.longitude(slot));
+			if (distance <= km) {
+				visitor.visit(slot, distance);
+			}
+		}
+	}
+
+	/**
+	 * Accounts matching the filter's gender preferences around the requester's
+	 * cache cell, computed once per cell, preferences and radius bucket. Runs
+	 * under the read lock, so no index change can slip between the scan and
+	 * the cache write.
+	 */
+	private long[] sharedCandidates(double latitude, double longitude, double km, DiscoveryFilter filter) {
+		DiscoveryResultCache.Key key = discoveryResultCache.keyFor(latitude, longitude, km, filter.getGender(),
+				filter.getInterestedIn());
+		long[] userAccountIds = discoveryResultCache.get(key);
+		if (userAccountIds == null) {
+			CandidateBuffer candidates = new CandidateBuffer();
+			scanCells(candidateCells(key.getCentreLatitude(), key.getCentreLongitude(), key.getCoverageKm()), -1,
+					key.getCentreLatitude(), key.getCentreLongitude(), key.getCoverageKm(),
+					filter.genderPreferencesOnly(), candidates::add);
+			userAccountIds = new long[candidates.size];
+			for (int i = 0; i < candidates.size; i++) {
+				userAccountIds[i] = candidateStore.userAccountId(candidates.slots[i]);
+			}
+			discoveryResultCache.put(key, userAccountIds);
+		}
+		return userAccountIds;
+	}
+
+	private void scanCells(Collection<Cell> cellsToScan, long excludeUserAccountId, double latitude,
+			double longitude, double km, DiscoveryFilter filter, SlotVisitor visitor) {
+		byte gender = ProfileCodes.genderCode(filter.getGender());
+		byte interestedIn = ProfileCodes.genderCode(filter.getInterestedIn());
+		int sexualOrientationMask = filter.getSexualOrientationMask();
+		if (gender == ProfileCodes.UNKNOWN || interestedIn == ProfileCodes.UNKNOWN || sexualOrientationMask == 0) {
+			return;
+		}
+		for (Cell cell : cellsToScan) {
+			for (int i = 0; i < cell.size; i++) {
+				int slot = cell.slots[i];
+				if (!candidateStore.matches(slot, gender, interestedIn, sexualOrientationMask)
+						|| !filter.acceptsDob(candidateStore.dobEpochDay(slot))
+						|| candidateStore.userAccountId(slot) == excludeUserAccountId) {
+					continue;
+				}
+				double distance = GeoUtility.distanceInKm(latitude, longitude, candidateStore.latitude(slot),
+						candidateStore.longitude(slot));
+				if (distance <= km) {
+					visitor.visit(slot, distance);
+				}
+			}
+		}
+	}
+
+	private Collection<Cell> candidateCells(double latitude, double longitude, double km) {
+		double latDelta = GeoUtility.latitudeDelta(km);
+		double minLat = Math.max(-90, latitude - latDelta);
+		double maxLat = Math.min(90, latitude + latDelta);
+		double lonDelta = GeoUtility.longitudeDelta(km, Math.max(Math.abs(minLat), Math.abs(maxLat)));
+
+		int minLatIndex = GeoUtility.latitudeIndex(minLat, precision);
+		int maxLatIndex = GeoUtility.latitudeIndex(maxLat, precision);
+		int lonCells = GeoUtility.longitudeCells(precision);
+		int minLonIndex;
+		int lonSpan;
+		if (lonDelta >= 180) {
+			minLonIndex = 0;
+			lonSpan = lonCells;
+		} else {
+			minLonIndex = GeoUtility.longitudeIndex(longitude - lonDelta, precision);
+			int maxLonIndex = GeoUtility.longitudeIndex(longitude + lonDelta, precision);
+			lonSpan = Math.floorMod(maxLonIndex - minLonIndex, lonCells) + 1;
+		}
+
+		long boxCells = (long) (maxLatIndex - minLatIndex + 1) * lonSpan;
+		if (boxCells >= cells.size()) {
+			return cells.values();
+		}
+		List<Cell> candidateCells = new ArrayList<>();
+		for (int latIndex = minLatIndex; latIndex <= maxLatIndex; latIndex++) {
+			for (int i = 0; i < lonSpan; i++) {
+				int lonIndex = (minLonIndex + i) % lonCells;
+				Cell cell = cells.get(GeoUtility.cellKey(latIndex, lonIndex, precision));
+				if (cell != null) {
+					candidateCells.add(cell);
+				}
+			}
+		}
+		return candidateCells;
+	}
+
+	private void index(DiscoveryProfile profile) {
+		int slot = candidateStore.put(profile);
+		cells.computeIfAbsent(GeoUtility.geoHash(candidateStore.latitude(slot), candidateStore.longitude(slot),
+				precision), key -> new Cell()).add(slot);
+		discoveryResultCache.invalidate(candidateStore.latitude(slot), candidateStore.longitude(slot));
+	}
+
+	private void unindex(Long userAccountId) {
+		int slot = candidateStore.slotOf(userAccountId);
+		if (slot != LongIntHashMap.NO_VALUE) {
+			long cellKey = GeoUtility.geoHash(candidateStore.latitude(slot), candidateStore.longitude(slot),
+					precision);
+			Cell cell = cells.get(cellKey);
+			cell.remove(slot);
+			if (cell.size == 0) {
+				cells.remove(cellKey);
+			}
+			discoveryResultCache.invalidate(candidateStore.latitude(slot), candidateStore.longitude(slot));
+			candidateStore.remove(userAccountId);
+		}
+	}
+
+	private static final class UserAccountProfile implements DiscoveryProfile {
+
+		private final UserAccount userAccount;
+
+		private UserAccountProfile(UserAccount userAccount) {
+			this.userAccount = userAccount;
+		}
+
+		@Override
+		public Long getUserAccountId() {
+			return userAccount.getUserAccountId();
+		}
+
+		@Override
+		public BigDecimal getLatitude() {
+			return userAccount.getLatitude();
+		}
+
+		@Override
+		public BigDecimal getLongitude() {
+			return userAccount.getLongitude();
+		}
+
+		@Override
+		public String getGender() {
+			return userAccount.getGender();
+		}
+
+		@Override
+		public String getInterestedIn() {
+			return userAccount.getInterestedIn();
+		}
+
+		@Override
+		public String getSexualOrientation() {
+			return userAccount.getSexualOrientation();
+		}
+
+		@Override
+		public Date getDob() {
+			return userAccount.getDob();
+		}
+
+		@Override
+		public String getEducation() {
+			return userAccount.getEducation();
+		}
+
+		@Override
+		public String getLivingIn() {
+			return userAccount.getLivingIn();
+		}
+
+		@Override
+		public String getJobTitle() {
+			return userAccount.getJobTitle();
+		}
+
+		@Override
+		public Date getUpdatedDate() {
+			return userAccount.getUpdatedDate();
+		}
+	}
+
+	private static final class CandidateBuffer {
+
+		private int[] slots = new int[64];
+
+		private double[] distances = new double[64];
+
+		private int size;
+
+		private void add(int slot, double distance) {
+			if (size == slots.length) {
+				slots = Arrays.copyOf(slots, size * 2);
+				distances = Arrays.copyOf(distances, size * 2);
+			}
+			slots[size] = slot;
+			distances[size++] = distance;
+		}
+	}
+
+	private static final class Cell {
+
+		private int[] slots = new int[4];
+
+		private int size;
+
+		private void add(int slot) {
+			if (size == slots.length) {
+				slots = Arrays.copyOf(slots, size * 2);
+			}
+			slots[size++] = slot;
+		}
+
+		private void remove(int slot) {
+			for (int i = 0; i < size; i++) {
+				if (slots[i] == slot) {
+					slots[i] = slots[--size];
+					return;
+				}
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface SlotVisitor {
+
+		void visit(int slot, double distance);
+	}
+
+}
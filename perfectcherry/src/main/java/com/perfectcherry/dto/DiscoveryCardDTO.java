@@ -0,0 +1,122 @@
+package com.perfectcherry.dto;
+
+import java.io.Serializable;
+import java.util.Date;
+
+public class DiscoveryCardDTO implements Serializable {
+
+	private static final long serialVersionUID = -4265409179733036512L;
+
+	private Long userAccountId;
+
+	private String pcId;
+
+	private String userName;
+
+	private String gender;
+
+	private Date dob;
+
+	private String livingIn;
+
+	private String jobTitle;
+
+	private String profilePhotoURL;
+
+	private double distance;
+
+	public DiscoveryCardDTO() {
+	}
+
+	public DiscoveryCardDTO(Long userAccountId, String pcId, String userName, String gender, Date dob,
+			String livingIn, String jobTitle, String profilePhotoURL) {
+		this.userAccountId = userAccountId;
+		this.pcId = pcId;
+		this.userName = userName;
+		this.gender = gender;
+		this.dob = dob;
+		this.livingIn = livingIn;
+		this.jobTitle = jobTitle;
+		this.profilePhotoURL = profilePhotoURL;
+	}
+
+	public Long getUserAccountId() {
+		return userAccountId;
+	}
+
+	public void setUserAccountId(Long userAccountId) {
+		this.userAccountId = userAccountId;
+	}
+
+	public String getPcId() {
+		return pcId;
+	}
+
+	public void setPcId(String pcId) {
+		this.pcId = pcId;
+	}
+
+	public String getUserName() {
+		return userName;
+	}
+
+	public void setUserName(String userName) {
+		this.userName = userName;
+	}
+
+	public String getGender() {
+		return gender;
+	}
+
+	public void setGender(String gender) {
+		this.gender = gender;
+	}
+
+	public Date getDob() {
+		return dob;
+	}
+
+	public void setDob(Date dob) {
+		this.dob = dob;
+	}
+
+	public String getLivingIn() {
+		return livingIn;
+	}
+
+	public void setLivingIn(String livingIn) {
+		this.livingIn = livingIn;
+	}
+
+	public String getJobTitle() {
+		return jobTitle;
+	}
+
+	public void setJobTitle(String jobTitle) {
+		this.jobTitle = jobTitle;
+	}
+
+	public String getProfilePhotoURL() {
+		return profilePhotoURL;
+	}
+
+	public void setProfilePhotoURL(String profilePhotoURL) {
+		this.profilePhotoURL = profilePhotoURL;
+	}
+
+	public double getDistance() {
+		return distance;
+	}
+
+	public void setDistance(double distance) {
+		this.distance = distance;
+	}
+
+	@Override
+	public String toString() {
+		return "DiscoveryCardDTO [userAccountId=" + userAccountId + ", pcId=" + pcId + ", userName=" + userName
+				+ ", gender=" + gender + ", dob=" + dob + ", livingIn=" + livingIn + ", jobTitle=" + jobTitle
+				+ ", profilePhotoURL=" + profilePhotoURL + ", distance=" + distance + "]";
+	}
+
+}
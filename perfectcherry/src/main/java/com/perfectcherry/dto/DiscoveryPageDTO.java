@@ -0,0 +1,40 @@
+package com.perfectcherry.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class DiscoveryPageDTO implements Serializable {
+
+	private static final long serialVersionUID = 1873950186458813602L;
+
+	private List<DiscoveryCardDTO> cards;
+
+	private String nextCursor;
+
+	public DiscoveryPageDTO(List<DiscoveryCardDTO> cards, String nextCursor) {
+		this.cards = cards;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<DiscoveryCardDTO> getCards() {
+		return cards;
+	}
+
+	public void setCards(List<DiscoveryCardDTO> cards) {
+		this.cards = cards;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	@Override
+	public String toString() {
+		return "DiscoveryPageDTO [cards=" + cards + ", nextCursor=" + nextCursor + "]";
+	}
+
+}
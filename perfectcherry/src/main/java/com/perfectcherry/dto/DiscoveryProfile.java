@@ -0,0 +1,30 @@
+package com.perfectcherry.dto;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public interface DiscoveryProfile {
+
+	public Long getUserAccountId();
+
+	public BigDecimal getLatitude();
+
+	public BigDecimal getLongitude();
+
+	public String getGender();
+
+	public String getInterestedIn();
+
+	public String getSexualOrientation();
+
+	public Date getDob();
+
+	public String getEducation();
+
+	public String getLivingIn();
+
+	public String getJobTitle();
+
+	public Date getUpdatedDate();
+
+}
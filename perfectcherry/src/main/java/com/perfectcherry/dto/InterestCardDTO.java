@@ -0,0 +1,118 @@
+package com.perfectcherry.dto;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import com.perfectcherry.pcenum.InterestEnum;
+
+/**
+ * An interest row as shown in an inbox: the interest and the account on the
+ * other side of it.
+ */
+public class InterestCardDTO implements Serializable {
+
+	private static final long serialVersionUID = 3127766145310247716L;
+
+	private Long interestId;
+
+	private InterestEnum status;
+
+	private Date createdDate;
+
+	private Date updatedDate;
+
+	private Long userAccountId;
+
+	private String userName;
+
+	private String pcId;
+
+	private String profilePhotoURL;
+
+	public InterestCardDTO() {
+	}
+
+	public InterestCardDTO(Long interestId, InterestEnum status, Date createdDate, Date updatedDate, Long userAccountId,
+			String userName, String pcId, String profilePhotoURL) {
+		this.interestId = interestId;
+		this.status = status;
+		this.createdDate = createdDate;
+		this.updatedDate = updatedDate;
+		this.userAccountId = userAccountId;
+		this.userName = userName;
+		this.pcId = pcId;
+		this.profilePhotoURL = profilePhotoURL;
+	}
+
+	public Long getInterestId() {
+		return interestId;
+	}
+
+	public void setInterestId(Long interestId) {
+		this.interestId = interestId;
+	}
+
+	public InterestEnum getStatus() {
+		return status;
+	}
+
+	public void setStatus(InterestEnum status) {
+		this.status = status;
+	}
+
+	public Date getCreatedDate() {
+		return createdDate;
+	}
+
+	public void setCreatedDate(Date createdDate) {
+		this.createdDate = createdDate;
+	}
+
+	public Date getUpdatedDate() {
+		return updatedDate;
+	}
+
+	public void setUpdatedDate(Date updatedDate) {
+		this.updatedDate = updatedDate;
+	}
+
+	public Long getUserAccountId() {
+		return userAccountId;
+	}
+
+	public void setUserAccountId(Long userAccountId) {
+		this.userAccountId = userAccountId;
+	}
+
+	public String getUserName() {
+		return userName;
+	}
+
+	public void setUserName(String userName) {
+		this.userName = userName;
+	}
+
+	public String getPcId() {
+		return pcId;
+	}
+
+	public void setPcId(String pcId) {
+		this.pcId = pcId;
+	}
+
+	public String getProfilePhotoURL() {
+		return profilePhotoURL;
+	}
+
+	public void setProfilePhotoURL(String profilePhotoURL) {
+		this.profilePhotoURL = profilePhotoURL;
+	}
+
+	@Override
+	public String toString() {
+		return "InterestCardDTO [interestId=" + interestId + ", status=" + status + ", createdDate=" + createdDate
+				+ ", updatedDate=" + updatedDate + ", userAccountId=" + userAccountId + ", userName=" + userName
+				+ ", pcId=" + pcId + ", profilePhotoURL=" + profilePhotoURL + "]";
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.perfectcherry.dto;
+
+import java.io.Serializable;
+
+/**
+ * Interest badge numbers of one user. Accepted and declined count interests
+ * in both directions.
+ */
+public class InterestCountsDTO implements Serializable {
+
+	private static final long serialVersionUID = 3390712482213617093L;
+
+	private Long userId;
+
+	private int pendingReceived;
+
+	private int pendingSent;
+
+	private int accepted;
+
+	private int declined;
+
+	public InterestCountsDTO() {
+	}
+
+	public InterestCountsDTO(Long userId, int pendingReceived, int pendingSent, int accepted, int declined) {
+		this.userId = userId;
+		this.pendingReceived = pendingReceived;
+		this.pendingSent = pendingSent;
+		this.accepted = accepted;
+		this.declined = declined;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public int getPendingReceived() {
+		return pendingReceived;
+	}
+
+	public void setPendingReceived(int pendingReceived) {
+		this.pendingReceived = pendingReceived;
+	}
+
+	public int getPendingSent() {
+		return pendingSent;
+	}
+
+	public void setPendingSent(int pendingSent) {
+		this.pendingSent = pendingSent;
+	}
+
+	public int getAccepted() {
+		return accepted;
+	}
+
+	public void setAccepted(int accepted) {
+		this.accepted = accepted;
+	}
+
+	public int getDeclined() {
+		return declined;
+	}
+
+	public void setDeclined(int declined) {
+		this.declined = declined;
+	}
+
+	@Override
+	public String toString() {
+		return "InterestCountsDTO [userId=" + userId + ", pendingReceived=" + pendingReceived + ", pendingSent="
+				+ pendingSent + ", accepted=" + accepted + ", declined=" + declined + "]";
+	}
+
+}
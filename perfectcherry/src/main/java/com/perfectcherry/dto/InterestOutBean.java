@@ -4,14 +4,24 @@ import java.util.List;
 
 public class InterestOutBean {
 	
-	private List<InterestBean> interests;
+	private List<InterestCardDTO> interests;
 
-	public List<InterestBean> getInterests() {
+	private String nextCursor;
+
+	public List<InterestCardDTO> getInterests() {
 		return interests;
 	}
 
-	public void setInterests(List<InterestBean> interests) {
+	public void setInterests(List<InterestCardDTO> interests) {
 		this.interests = interests;
 	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
 	
 }
@@ -0,0 +1,13 @@
+package com.perfectcherry.dto;
+
+import com.perfectcherry.pcenum.InterestEnum;
+
+public interface InterestPair {
+
+	public Long getUserId();
+
+	public Long getInterestedOn();
+
+	public InterestEnum getStatus();
+
+}
@@ -0,0 +1,80 @@
+package com.perfectcherry.dto;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of one interest in a batch send, with the HTTP status the single
+ * send endpoint would have answered.
+ */
+public class InterestResultDTO implements Serializable {
+
+	private static final long serialVersionUID = -7702135481196843526L;
+
+	private Long userId;
+
+	private Long interestedOn;
+
+	private Long interestId;
+
+	private int status;
+
+	private String message;
+
+	public InterestResultDTO() {
+	}
+
+	public InterestResultDTO(Long userId, Long interestedOn, Long interestId, int status, String message) {
+		this.userId = userId;
+		this.interestedOn = interestedOn;
+		this.interestId = interestId;
+		this.status = status;
+		this.message = message;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public Long getInterestedOn() {
+		return interestedOn;
+	}
+
+	public void setInterestedOn(Long interestedOn) {
+		this.interestedOn = interestedOn;
+	}
+
+	public Long getInterestId() {
+		return interestId;
+	}
+
+	public void setInterestId(Long interestId) {
+		this.interestId = interestId;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	@Override
+	public String toString() {
+		return "InterestResultDTO [userId=" + userId + ", interestedOn=" + interestedOn + ", interestId=" + interestId
+				+ ", status=" + status + ", message=" + message + "]";
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.perfectcherry.dto;
+
+import com.perfectcherry.pcenum.InterestEnum;
+
+public interface InterestStatusCount {
+
+	public Long getUserId();
+
+	public InterestEnum getStatus();
+
+	public Long getTotal();
+
+}
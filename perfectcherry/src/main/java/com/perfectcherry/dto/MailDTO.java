@@ -19,6 +19,8 @@ public class MailDTO implements Serializable{
 
 	private String mailContent;
 
+	private String htmlContent;
+
 	private String contentType;
 
 	private List<Object> attachments;
@@ -75,6 +77,17 @@ public class MailDTO implements Serializable{
 		this.mailContent = mailContent;
 	}
 
+	/**
+	 * HTML alternative to the plain text mailContent, if any.
+	 */
+	public String getHtmlContent() {
+		return htmlContent;
+	}
+
+	public void setHtmlContent(String htmlContent) {
+		this.htmlContent = htmlContent;
+	}
+
 	public String getContentType() {
 		return contentType;
 	}
@@ -97,6 +110,7 @@ public class MailDTO implements Serializable{
 		int result = 1;
 		result = prime * result + ((attachments == null) ? 0 : attachments.hashCode());
 		result = prime * result + ((contentType == null) ? 0 : contentType.hashCode());
+		result = prime * result + ((htmlContent == null) ? 0 : htmlContent.hashCode());
 		result = prime * result + ((mailBcc == null) ? 0 : mailBcc.hashCode());
 		result = prime * result + ((mailCc == null) ? 0 : mailCc.hashCode());
 		result = prime * result + ((mailContent == null) ? 0 : mailContent.hashCode());
@@ -125,6 +139,11 @@ public class MailDTO implements Serializable{
 				return false;
 		} else if (!contentType.equals(other.contentType))
 			return false;
+		if (htmlContent == null) {
+			if (other.htmlContent != null)
+				return false;
+		} else if (!htmlContent.equals(other.htmlContent))
+			return false;
 		if (mailBcc == null) {
 			if (other.mailBcc != null)
 				return false;
@@ -161,7 +180,8 @@ public class MailDTO implements Serializable{
 	@Override
 	public String toString() {
 		return "MailDTO [mailFrom=" + mailFrom + ", mailTo=" + mailTo + ", mailCc=" + mailCc + ", mailBcc=" + mailBcc
-				+ ", mailSubject=" + mailSubject + ", mailContent=" + mailContent + ", contentType=" + contentType
+				+ ", mailSubject=" + mailSubject + ", mailContent=" + mailContent + ", htmlContent=" + htmlContent
+				+ ", contentType=" + contentType
 				+ ", attachments=" + attachments + "]";
 	}
 
@@ -0,0 +1,9 @@
+package com.perfectcherry.dto;
+
+public interface NearbyUserAccount {
+
+	public Long getUserAccountId();
+
+	public Double getDistance();
+
+}
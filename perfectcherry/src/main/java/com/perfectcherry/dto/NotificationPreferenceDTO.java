@@ -0,0 +1,68 @@
+package com.perfectcherry.dto;
+
+import java.io.Serializable;
+
+import com.perfectcherry.pcenum.NotificationMode;
+
+public class NotificationPreferenceDTO implements Serializable {
+
+	private static final long serialVersionUID = 2975128362290442617L;
+
+	private Long userId;
+
+	private NotificationMode newInterest;
+
+	private NotificationMode interestAccepted;
+
+	private NotificationMode interestDeclined;
+
+	public NotificationPreferenceDTO() {
+	}
+
+	public NotificationPreferenceDTO(Long userId, NotificationMode newInterest, NotificationMode interestAccepted,
+			NotificationMode interestDeclined) {
+		this.userId = userId;
+		this.newInterest = newInterest;
+		this.interestAccepted = interestAccepted;
+		this.interestDeclined = interestDeclined;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public NotificationMode getNewInterest() {
+		return newInterest;
+	}
+
+	public void setNewInterest(NotificationMode newInterest) {
+		this.newInterest = newInterest;
+	}
+
+	public NotificationMode getInterestAccepted() {
+		return interestAccepted;
+	}
+
+	public void setInterestAccepted(NotificationMode interestAccepted) {
+		this.interestAccepted = interestAccepted;
+	}
+
+	public NotificationMode getInterestDeclined() {
+		return interestDeclined;
+	}
+
+	public void setInterestDeclined(NotificationMode interestDeclined) {
+		this.interestDeclined = interestDeclined;
+	}
+
+	@Override
+	public String toString() {
+		return "NotificationPreferenceDTO [userId=" + userId + ", newInterest=" + newInterest + ", interestAccepted="
+				+ interestAccepted + ", interestDeclined=" + interestDeclined + "]";
+	}
+
+}
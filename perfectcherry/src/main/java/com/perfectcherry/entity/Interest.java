@@ -4,17 +4,40 @@ import java.io.Serializable;
 import java.util.Date;
 
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
+
+import com.perfectcherry.pcenum.InterestEnum;
+import com.perfectcherry.pcenum.InterestEnumConverter;
 
 @Entity
-@Table(name = "interest")
+@Table(name = "interest", indexes = {
+		@Index(name = "idx_interest_sent",
+				columnList = "userid, status, updated_date, interestid, interestedon, created_date"),
+		@Index(name = "idx_interest_received",
+				columnList = "interestedon, status, updated_date, interestid, userid, created_date"),
+		@Index(name = "idx_interest_status_updated", columnList = "status, updated_date") }, uniqueConstraints = {
+						@UniqueConstraint(name = "uk_interest_userid_interestedon", columnNames = { "userid",
+								"interestedon" }) })
 public class Interest implements Serializable {
 
 	private static final long serialVersionUID = 6850823602386980585L;
 
+	/**
+	 * Drawn from interest_seq before the row is inserted, see
+	 * InterestRepositoryImpl.
+	 */
 	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interest_seq")
+	@SequenceGenerator(name = "interest_seq", sequenceName = "interest_seq", allocationSize = 50)
 	@Column(name = "interestid")
 	private Long interestId;
 
@@ -24,8 +47,9 @@ public class Interest implements Serializable {
 	@Column(name = "interestedon")
 	private Long interestedOn;
 
-	@Column(name = "status")
-	private String status;
+	@Convert(converter = InterestEnumConverter.class)
+	@Column(name = "status", columnDefinition = "CHAR(1)")
+	private InterestEnum status;
 
 	@Column(name = "created_date")
 	private Date createdDate;
@@ -33,6 +57,10 @@ public class Interest implements Serializable {
 	@Column(name = "updated_date")
 	private Date updatedDate;
 
+	@Version
+	@Column(name = "version", nullable = false)
+	private Long version = 0L;
+
 	public Long getInterestId() {
 		return interestId;
 	}
@@ -57,11 +85,11 @@ public class Interest implements Serializable {
 		this.interestedOn = interestedOn;
 	}
 
-	public String getStatus() {
+	public InterestEnum getStatus() {
 		return status;
 	}
 
-	public void setStatus(String status) {
+	public void setStatus(InterestEnum status) {
 		this.status = status;
 	}
 
@@ -81,6 +109,14 @@ public class Interest implements Serializable {
 		this.updatedDate = updatedDate;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -154,7 +190,7 @@ public class Interest implements Serializable {
 	@Override
 	public String toString() {
 		return "Interest [interestId=" + interestId + ", userId=" + userId + ", interestedOn=" + interestedOn
-				+ ", status=" + status + ", createdDate=" + createdDate + ", updatedDate=" + updatedDate + "]";
+				+ ", status=" + status + ", createdDate=" + createdDate + ", updatedDate=" + updatedDate + ", version=" + version + "]";
 	}
 
 }
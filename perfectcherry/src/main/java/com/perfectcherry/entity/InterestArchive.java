@@ -0,0 +1,121 @@
+package com.perfectcherry.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.perfectcherry.pcenum.InterestEnum;
+import com.perfectcherry.pcenum.InterestEnumConverter;
+
+/**
+ * Declined and expired interests moved out of the interest table by
+ * InterestSweeper.
+ */
+@Entity
+@Table(name = "interest_archive")
+public class InterestArchive implements Serializable {
+
+	private static final long serialVersionUID = 1917624655432201907L;
+
+	@Id
+	@Column(name = "interestid")
+	private Long interestId;
+
+	@Column(name = "userid")
+	private Long userId;
+
+	@Column(name = "interestedon")
+	private Long interestedOn;
+
+	@Convert(converter = InterestEnumConverter.class)
+	@Column(name = "status", columnDefinition = "CHAR(1)")
+	private InterestEnum status;
+
+	@Column(name = "created_date")
+	private Date createdDate;
+
+	@Column(name = "updated_date")
+	private Date updatedDate;
+
+	@Column(name = "version")
+	private Long version;
+
+	@Column(name = "archived_date")
+	private Date archivedDate;
+
+	public Long getInterestId() {
+		return interestId;
+	}
+
+	public void setInterestId(Long interestId) {
+		this.interestId = interestId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public Long getInterestedOn() {
+		return interestedOn;
+	}
+
+	public void setInterestedOn(Long interestedOn) {
+		this.interestedOn = interestedOn;
+	}
+
+	public InterestEnum getStatus() {
+		return status;
+	}
+
+	public void setStatus(InterestEnum status) {
+		this.status = status;
+	}
+
+	public Date getCreatedDate() {
+		return createdDate;
+	}
+
+	public void setCreatedDate(Date createdDate) {
+		this.createdDate = createdDate;
+	}
+
+	public Date getUpdatedDate() {
+		return updatedDate;
+	}
+
+	public void setUpdatedDate(Date updatedDate) {
+		this.updatedDate = updatedDate;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public Date getArchivedDate() {
+		return archivedDate;
+	}
+
+	public void setArchivedDate(Date archivedDate) {
+		this.archivedDate = archivedDate;
+	}
+
+	@Override
+	public String toString() {
+		return "InterestArchive [interestId=" + interestId + ", userId=" + userId + ", interestedOn=" + interestedOn
+				+ ", status=" + status + ", archivedDate=" + archivedDate + "]";
+	}
+
+}
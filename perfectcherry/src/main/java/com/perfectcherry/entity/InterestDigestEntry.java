@@ -0,0 +1,102 @@
+package com.perfectcherry.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import com.perfectcherry.pcenum.DomainEventType;
+
+/**
+ * An interest event held back for the recipient's next digest mail.
+ * {@code actorId} is the user who sent, accepted or declined the interest.
+ */
+@Entity
+@Table(name = "interest_digest", indexes = @Index(name = "idx_interest_digest_recipient",
+		columnList = "recipient_id, created_date"))
+public class InterestDigestEntry implements Serializable {
+
+	private static final long serialVersionUID = 8326119754608314471L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "recipient_id")
+	private Long recipientId;
+
+	@Column(name = "actor_id")
+	private Long actorId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "event_type", length = 40)
+	private DomainEventType eventType;
+
+	@Column(name = "created_date")
+	private Date createdDate;
+
+	public static InterestDigestEntry of(Long recipientId, Long actorId, DomainEventType eventType, Date date) {
+		InterestDigestEntry entry = new InterestDigestEntry();
+		entry.setRecipientId(recipientId);
+		entry.setActorId(actorId);
+		entry.setEventType(eventType);
+		entry.setCreatedDate(date);
+		return entry;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getRecipientId() {
+		return recipientId;
+	}
+
+	public void setRecipientId(Long recipientId) {
+		this.recipientId = recipientId;
+	}
+
+	public Long getActorId() {
+		return actorId;
+	}
+
+	public void setActorId(Long actorId) {
+		this.actorId = actorId;
+	}
+
+	public DomainEventType getEventType() {
+		return eventType;
+	}
+
+	public void setEventType(DomainEventType eventType) {
+		this.eventType = eventType;
+	}
+
+	public Date getCreatedDate() {
+		return createdDate;
+	}
+
+	public void setCreatedDate(Date createdDate) {
+		this.createdDate = createdDate;
+	}
+
+	@Override
+	public String toString() {
+		return "InterestDigestEntry [id=" + id + ", recipientId=" + recipientId + ", actorId=" + actorId
+				+ ", eventType=" + eventType + "]";
+	}
+
+}
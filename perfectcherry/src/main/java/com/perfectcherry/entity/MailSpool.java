@@ -0,0 +1,250 @@
+package com.perfectcherry.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import com.perfectcherry.dto.MailDTO;
+
+/**
+ * A mail waiting for, or done with, SMTP delivery. Status N is queued, S is
+ * claimed by a sender until next_attempt_at, D is delivered and F is dead
+ * after mailspool.maxAttempts. The content is dropped once delivered.
+ */
+@Entity
+@Table(name = "mail_spool", indexes = @Index(name = "idx_mail_spool_status_next", columnList = "status, next_attempt_at"))
+public class MailSpool implements Serializable {
+
+	private static final long serialVersionUID = 4470311827409511733L;
+
+	public static final char QUEUED = 'N';
+
+	public static final char SENDING = 'S';
+
+	public static final char DELIVERED = 'D';
+
+	public static final char DEAD = 'F';
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "mail_from")
+	private String mailFrom;
+
+	@Column(name = "mail_to")
+	private String mailTo;
+
+	@Column(name = "mail_cc")
+	private String mailCc;
+
+	@Column(name = "mail_bcc")
+	private String mailBcc;
+
+	@Column(name = "subject")
+	private String mailSubject;
+
+	@Column(name = "content", columnDefinition = "TEXT")
+	private String mailContent;
+
+	@Column(name = "html_content", columnDefinition = "TEXT")
+	private String htmlContent;
+
+	@Column(name = "content_type", length = 40)
+	private String contentType;
+
+	@Column(name = "status")
+	private char status;
+
+	@Column(name = "attempts")
+	private int attempts;
+
+	@Column(name = "next_attempt_at")
+	private Date nextAttemptAt;
+
+	@Column(name = "claim_token")
+	private Long claimToken;
+
+	@Column(name = "created_date")
+	private Date createdDate;
+
+	@Column(name = "sent_date")
+	private Date sentDate;
+
+	@Column(name = "last_error")
+	private String lastError;
+
+	public static MailSpool of(MailDTO mailDTO, Date date) {
+		MailSpool mailSpool = new MailSpool();
+		mailSpool.setMailFrom(mailDTO.getMailFrom());
+		mailSpool.setMailTo(mailDTO.getMailTo());
+		mailSpool.setMailCc(mailDTO.getMailCc());
+		mailSpool.setMailBcc(mailDTO.getMailBcc());
+		mailSpool.setMailSubject(mailDTO.getMailSubject());
+		mailSpool.setMailContent(mailDTO.getMailContent());
+		mailSpool.setHtmlContent(mailDTO.getHtmlContent());
+		mailSpool.setContentType(mailDTO.getContentType());
+		mailSpool.setStatus(QUEUED);
+		mailSpool.setNextAttemptAt(date);
+		mailSpool.setCreatedDate(date);
+		return mailSpool;
+	}
+
+	public MailDTO toMailDTO() {
+		MailDTO mailDTO = new MailDTO();
+		mailDTO.setMailFrom(mailFrom);
+		mailDTO.setMailTo(mailTo);
+		mailDTO.setMailCc(mailCc);
+		mailDTO.setMailBcc(mailBcc);
+		mailDTO.setMailSubject(mailSubject);
+		mailDTO.setMailContent(mailContent);
+		mailDTO.setHtmlContent(htmlContent);
+		if (contentType != null) {
+			mailDTO.setContentType(contentType);
+		}
+		return mailDTO;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getMailFrom() {
+		return mailFrom;
+	}
+
+	public void setMailFrom(String mailFrom) {
+		this.mailFrom = mailFrom;
+	}
+
+	public String getMailTo() {
+		return mailTo;
+	}
+
+	public void setMailTo(String mailTo) {
+		this.mailTo = mailTo;
+	}
+
+	public String getMailCc() {
+		return mailCc;
+	}
+
+	public void setMailCc(String mailCc) {
+		this.mailCc = mailCc;
+	}
+
+	public String getMailBcc() {
+		return mailBcc;
+	}
+
+	public void setMailBcc(String mailBcc) {
+		this.mailBcc = mailBcc;
+	}
+
+	public String getMailSubject() {
+		return mailSubject;
+	}
+
+	public void setMailSubject(String mailSubject) {
+		this.mailSubject = mailSubject;
+	}
+
+	public String getMailContent() {
+		return mailContent;
+	}
+
+	public void setMailContent(String mailContent) {
+		this.mailContent = mailContent;
+	}
+
+	public String getHtmlContent() {
+		return htmlContent;
+	}
+
+	public void setHtmlContent(String htmlContent) {
+		this.htmlContent = htmlContent;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public void setContentType(String contentType) {
+		this.contentType = contentType;
+	}
+
+	public char getStatus() {
+		return status;
+	}
+
+	public void setStatus(char status) {
+		this.status = status;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public Date getNextAttemptAt() {
+		return nextAttemptAt;
+	}
+
+	public void setNextAttemptAt(Date nextAttemptAt) {
+		this.nextAttemptAt = nextAttemptAt;
+	}
+
+	public Long getClaimToken() {
+		return claimToken;
+	}
+
+	public void setClaimToken(Long claimToken) {
+		this.claimToken = claimToken;
+	}
+
+	public Date getCreatedDate() {
+		return createdDate;
+	}
+
+	public void setCreatedDate(Date createdDate) {
+		this.createdDate = createdDate;
+	}
+
+	public Date getSentDate() {
+		return sentDate;
+	}
+
+	public void setSentDate(Date sentDate) {
+		this.sentDate = sentDate;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+	@Override
+	public String toString() {
+		return "MailSpool [id=" + id + ", mailTo=" + mailTo + ", mailSubject=" + mailSubject + ", status=" + status
+				+ ", attempts=" + attempts + "]";
+	}
+
+}
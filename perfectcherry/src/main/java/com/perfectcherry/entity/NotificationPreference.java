@@ -0,0 +1,108 @@
+package com.perfectcherry.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import com.perfectcherry.pcenum.DomainEventType;
+import com.perfectcherry.pcenum.NotificationMode;
+
+/**
+ * A user's choice of interest mails per event type. Users without a row get
+ * the notification.* defaults.
+ */
+@Entity
+@Table(name = "notification_preference")
+public class NotificationPreference implements Serializable {
+
+	private static final long serialVersionUID = -6243012950125377302L;
+
+	@Id
+	@Column(name = "userid")
+	private Long userId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "new_interest", length = 10)
+	private NotificationMode newInterest;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "interest_accepted", length = 10)
+	private NotificationMode interestAccepted;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "interest_declined", length = 10)
+	private NotificationMode interestDeclined;
+
+	@Column(name = "updated_date")
+	private Date updatedDate;
+
+	/**
+	 * The mode for {@code type}, or null when this preference leaves it to the
+	 * default.
+	 */
+	public NotificationMode modeFor(DomainEventType type) {
+		switch (type) {
+		case INTEREST_SENT:
+			return newInterest;
+		case INTEREST_ACCEPTED:
+			return interestAccepted;
+		case INTEREST_DECLINED:
+			return interestDeclined;
+		default:
+			return null;
+		}
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public NotificationMode getNewInterest() {
+		return newInterest;
+	}
+
+	public void setNewInterest(NotificationMode newInterest) {
+		this.newInterest = newInterest;
+	}
+
+	public NotificationMode getInterestAccepted() {
+		return interestAccepted;
+	}
+
+	public void setInterestAccepted(NotificationMode interestAccepted) {
+		this.interestAccepted = interestAccepted;
+	}
+
+	public NotificationMode getInterestDeclined() {
+		return interestDeclined;
+	}
+
+	public void setInterestDeclined(NotificationMode interestDeclined) {
+		this.interestDeclined = interestDeclined;
+	}
+
+	public Date getUpdatedDate() {
+		return updatedDate;
+	}
+
+	public void setUpdatedDate(Date updatedDate) {
+		this.updatedDate = updatedDate;
+	}
+
+	@Override
+	public String toString() {
+		return "NotificationPreference [userId=" + userId + ", newInterest=" + newInterest + ", interestAccepted="
+				+ interestAccepted + ", interestDeclined=" + interestDeclined + "]";
+	}
+
+}
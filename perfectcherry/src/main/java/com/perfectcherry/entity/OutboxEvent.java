@@ -0,0 +1,194 @@
+package com.perfectcherry.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import com.perfectcherry.event.DomainEvent;
+import com.perfectcherry.pcenum.DomainEventType;
+
+/**
+ * A domain event waiting to be relayed. A relay claims rows with status S and
+ * its claim token; handled_by lists the handlers that already processed the
+ * event so a retry skips them. Rows are deleted once every handler has
+ * processed them; rows that kept failing stay behind with status F.
+ */
+@Entity
+@Table(name = "outbox", indexes = @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at"))
+public class OutboxEvent implements Serializable {
+
+	private static final long serialVersionUID = -2316125907245318946L;
+
+	public static final char PENDING = 'N';
+
+	public static final char CLAIMED = 'S';
+
+	public static final char FAILED = 'F';
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "event_type", length = 40)
+	private DomainEventType eventType;
+
+	@Column(name = "user_id")
+	private Long userId;
+
+	@Column(name = "other_user_id")
+	private Long otherUserId;
+
+	@Column(name = "interest_id")
+	private Long interestId;
+
+	@Column(name = "status")
+	private char status;
+
+	@Column(name = "attempts")
+	private int attempts;
+
+	@Column(name = "next_attempt_at")
+	private Date nextAttemptAt;
+
+	@Column(name = "created_date")
+	private Date createdDate;
+
+	@Column(name = "last_error")
+	private String lastError;
+
+	@Column(name = "claim_token")
+	private Long claimToken;
+
+	@Column(name = "handled_by")
+	private String handledBy;
+
+	public static OutboxEvent of(DomainEvent event, Date date) {
+		OutboxEvent outboxEvent = new OutboxEvent();
+		outboxEvent.setEventType(event.getType());
+		outboxEvent.setUserId(event.getUserId());
+		outboxEvent.setOtherUserId(event.getOtherUserId());
+		outboxEvent.setInterestId(event.getInterestId());
+		outboxEvent.setStatus(PENDING);
+		outboxEvent.setNextAttemptAt(date);
+		outboxEvent.setCreatedDate(date);
+		return outboxEvent;
+	}
+
+	public DomainEvent toDomainEvent() {
+		return new DomainEvent(eventType, userId, otherUserId, interestId);
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public DomainEventType getEventType() {
+		return eventType;
+	}
+
+	public void setEventType(DomainEventType eventType) {
+		this.eventType = eventType;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public void setUserId(Long userId) {
+		this.userId = userId;
+	}
+
+	public Long getOtherUserId() {
+		return otherUserId;
+	}
+
+	public void setOtherUserId(Long otherUserId) {
+		this.otherUserId = otherUserId;
+	}
+
+	public Long getInterestId() {
+		return interestId;
+	}
+
+	public void setInterestId(Long interestId) {
+		this.interestId = interestId;
+	}
+
+	public char getStatus() {
+		return status;
+	}
+
+	public void setStatus(char status) {
+		this.status = status;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public Date getNextAttemptAt() {
+		return nextAttemptAt;
+	}
+
+	public void setNextAttemptAt(Date nextAttemptAt) {
+		this.nextAttemptAt = nextAttemptAt;
+	}
+
+	public Date getCreatedDate() {
+		return createdDate;
+	}
+
+	public void setCreatedDate(Date createdDate) {
+		this.createdDate = createdDate;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+	public Long getClaimToken() {
+		return claimToken;
+	}
+
+	public void setClaimToken(Long claimToken) {
+		this.claimToken = claimToken;
+	}
+
+	public String getHandledBy() {
+		return handledBy;
+	}
+
+	public void setHandledBy(String handledBy) {
+		this.handledBy = handledBy;
+	}
+
+	@Override
+	public String toString() {
+		return "OutboxEvent [id=" + id + ", eventType=" + eventType + ", userId=" + userId + ", otherUserId="
+				+ otherUserId + ", interestId=" + interestId + ", status=" + status + ", attempts=" + attempts + "]";
+	}
+
+}
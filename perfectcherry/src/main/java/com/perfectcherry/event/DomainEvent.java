@@ -0,0 +1,61 @@
+package com.perfectcherry.event;
+
+import java.io.Serializable;
+
+import com.perfectcherry.entity.Interest;
+import com.perfectcherry.pcenum.DomainEventType;
+
+/**
+ * A committed change to an interest or a user account. Interest events carry
+ * the sender as userId and the receiver as otherUserId.
+ */
+public final class DomainEvent implements Serializable {
+
+	private static final long serialVersionUID = -5143790251896012277L;
+
+	private final DomainEventType type;
+
+	private final Long userId;
+
+	private final Long otherUserId;
+
+	private final Long interestId;
+
+	public DomainEvent(DomainEventType type, Long userId, Long otherUserId, Long interestId) {
+		this.type = type;
+		this.userId = userId;
+		this.otherUserId = otherUserId;
+		this.interestId = interestId;
+	}
+
+	public static DomainEvent of(DomainEventType type, Interest interest) {
+		return new DomainEvent(type, interest.getUserId(), interest.getInterestedOn(), interest.getInterestId());
+	}
+
+	public static DomainEvent of(DomainEventType type, Long userId) {
+		return new DomainEvent(type, userId, null, null);
+	}
+
+	public DomainEventType getType() {
+		return type;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public Long getOtherUserId() {
+		return otherUserId;
+	}
+
+	public Long getInterestId() {
+		return interestId;
+	}
+
+	@Override
+	public String toString() {
+		return "DomainEvent [type=" + type + ", userId=" + userId + ", otherUserId=" + otherUserId + ", interestId="
+				+ interestId + "]";
+	}
+
+}
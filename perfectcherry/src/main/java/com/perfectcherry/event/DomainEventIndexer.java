@@ -0,0 +1,103 @@
+package com.perfectcherry.event;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.perfectcherry.discovery.DiscoveryFeedStore;
+import com.perfectcherry.discovery.InteractionIndex;
+import com.perfectcherry.discovery.UserLocationIndex;
+import com.perfectcherry.entity.UserAccount;
+import com.perfectcherry.interest.InterestCounters;
+import com.perfectcherry.interest.InterestGraph;
+import com.perfectcherry.pcenum.DomainEventType;
+import com.perfectcherry.pcenum.InterestEnum;
+import com.perfectcherry.repository.UserAccountRepository;
+
+/**
+ * Keeps the in-memory interest and discovery structures in step with
+ * committed changes. These are rebuilt from the database at startup, so they
+ * follow the event stream in process instead of through the outbox.
+ */
+@Component
+public class DomainEventIndexer {
+
+	@Autowired
+	private InterestGraph interestGraph;
+
+	@Autowired
+	private InterestCounters interestCounters;
+
+	@Autowired
+	private InteractionIndex interactionIndex;
+
+	@Autowired
+	private DiscoveryFeedStore discoveryFeedStore;
+
+	@Autowired
+	private UserLocationIndex userLocationIndex;
+
+	@Autowired
+	private UserAccountRepository userAccountRepository;
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void beforeCommit(DomainEvent event) {
+		if (event.getInterestId() != null) {
+			interestCounters.holdLoadUntilCompletion();
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void onDomainEvent(DomainEvent event) {
+		Long userId = event.getUserId();
+		Long otherUserId = event.getOtherUserId();
+		switch (event.getType()) {
+		case INTEREST_SENT:
+			interestGraph.put(userId, otherUserId, InterestEnum.P);
+			interestCounters.record(userId, otherUserId, null, InterestEnum.P);
+			interactionIndex.recordInteraction(userId, otherUserId);
+			discoveryFeedStore.removeCandidate(userId, otherUserId);
+			break;
+		case INTEREST_ACCEPTED:
+			interestGraph.put(userId, otherUserId, InterestEnum.A);
+			interestCounters.record(userId, otherUserId, InterestEnum.P, InterestEnum.A);
+			break;
+		case INTEREST_DECLINED:
+			interestGraph.put(userId, otherUserId, InterestEnum.D);
+			interestCounters.record(userId, otherUserId, InterestEnum.P, InterestEnum.D);
+			break;
+		case INTEREST_CANCELLED:
+			interestGraph.remove(userId, otherUserId);
+			interestCounters.record(userId, otherUserId, InterestEnum.P, null);
+			break;
+		case INTEREST_EXPIRED:
+			interestGraph.put(userId, otherUserId, InterestEnum.E);
+			interestCounters.record(userId, otherUserId, InterestEnum.P, InterestEnum.E);
+			break;
+		case INTEREST_ARCHIVED:
+			interestGraph.remove(userId, otherUserId);
+			break;
+		case USER_ACCOUNT_UPDATED:
+		case USER_ACCOUNT_ACTIVATED:
+			Optional<UserAccount> userAccountOptional = userAccountRepository.findById(userId);
+			if (userAccountOptional.isPresent()) {
+				userLocationIndex.put(userAccountOptional.get());
+			}
+			if (event.getType() == DomainEventType.USER_ACCOUNT_UPDATED) {
+				discoveryFeedStore.invalidate(userId);
+			}
+			break;
+		case USER_ACCOUNT_DEACTIVATED:
+		case USER_DELETED:
+			userLocationIndex.remove(userId);
+			discoveryFeedStore.remove(userId);
+			break;
+		default:
+			break;
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.perfectcherry.event;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.perfectcherry.entity.OutboxEvent;
+import com.perfectcherry.repository.OutboxEventRepository;
+
+/**
+ * Records domain events as part of the caller's transaction: each one is
+ * inserted into the outbox for the relay and handed to in-process listeners,
+ * which only see it once the transaction commits.
+ */
+@Component
+public class DomainEventPublisher {
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private ApplicationEventPublisher applicationEventPublisher;
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void publish(DomainEvent event) {
+		publishAll(Collections.singletonList(event));
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void publishAll(List<DomainEvent> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+		Date date = new Date();
+		outboxEventRepository
+				.saveAll(events.stream().map(event -> OutboxEvent.of(event, date)).collect(Collectors.toList()));
+		events.forEach(applicationEventPublisher::publishEvent);
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.perfectcherry.event;
+
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.constant.InterestConstants;
+import com.perfectcherry.dto.ResponseDTO;
+import com.perfectcherry.entity.InterestDigestEntry;
+import com.perfectcherry.exception.EventDispatchException;
+import com.perfectcherry.pcenum.DomainEventType;
+import com.perfectcherry.repository.InterestDigestRepository;
+import com.perfectcherry.service.PCEmailService;
+
+/**
+ * Sends the interest mails for relayed interest events, or holds them for the
+ * recipient's digest when they asked for one. New interests go to the
+ * receiver; accepts and declines go to the sender of the interest.
+ */
+@Component
+public class InterestMailHandler implements OutboxEventHandler {
+
+	@Autowired
+	private PCEmailService pcEmailService;
+
+	@Autowired
+	private InterestDigestRepository interestDigestRepository;
+
+	@Override
+	public boolean supports(DomainEventType type) {
+		return type == DomainEventType.INTEREST_SENT || type == DomainEventType.INTEREST_ACCEPTED
+				|| type == DomainEventType.INTEREST_DECLINED;
+	}
+
+	@Override
+	public void handle(DomainEvent event) {
+		boolean newInterest = event.getType() == DomainEventType.INTEREST_SENT;
+		Long recipientId = newInterest ? event.getOtherUserId() : event.getUserId();
+		Long actorId = newInterest ? event.getUserId() : event.getOtherUserId();
+		switch (pcEmailService.notificationMode(recipientId, event.getType())) {
+		case OFF:
+			return;
+		case DIGEST:
+			interestDigestRepository.save(InterestDigestEntry.of(recipientId, actorId, event.getType(), new Date()));
+			return;
+		default:
+			break;
+		}
+		String action;
+		switch (event.getType()) {
+		case INTEREST_ACCEPTED:
+			action = InterestConstants.ACCEPT;
+			break;
+		case INTEREST_DECLINED:
+			action = InterestConstants.DECLINE;
+			break;
+		default:
+			action = InterestConstants.NEW;
+			break;
+		}
+		ResponseEntity<ResponseDTO> response = pcEmailService.sendInterestMail(actorId, recipientId, action);
+		if (response.getStatusCode().is5xxServerError()) {
+			throw new EventDispatchException(response.getBody() == null ? response.getStatusCode().toString()
+					: response.getBody().getMessage());
+		}
+	}
+
+}
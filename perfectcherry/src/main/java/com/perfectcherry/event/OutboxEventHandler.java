@@ -0,0 +1,25 @@
+package com.perfectcherry.event;
+
+import org.springframework.util.ClassUtils;
+
+import com.perfectcherry.pcenum.DomainEventType;
+
+/**
+ * Consumer of relayed outbox events. Events are delivered at least once, so
+ * handle must tolerate repeats; throwing schedules the event for a retry.
+ */
+public interface OutboxEventHandler {
+
+	public boolean supports(DomainEventType type);
+
+	public void handle(DomainEvent event);
+
+	/**
+	 * Recorded on the outbox row once this handler has processed the event, so
+	 * retries after another handler failed skip it.
+	 */
+	public default String getName() {
+		return ClassUtils.getUserClass(this).getSimpleName();
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.perfectcherry.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.configuration.properties.OutboxConfigProperties;
+import com.perfectcherry.entity.OutboxEvent;
+import com.perfectcherry.repository.OutboxEventRepository;
+
+/**
+ * Dispatches committed outbox events to their handlers in batches, outside
+ * any request transaction. Due events are claimed by a conditional update
+ * before dispatch, so several instances can relay the same table; a claim that
+ * is never settled, e.g. after a crash, lapses after outbox.claimSeconds.
+ * Dispatched rows are deleted with one statement per batch; failed ones are
+ * retried with exponential backoff, skipping the handlers that already
+ * succeeded, and parked with status F after outbox.maxAttempts.
+ */
+@Component
+public class OutboxRelay {
+
+	private static final int MAX_ERROR_LENGTH = 255;
+
+	private Logger logger = LogManager.getLogger(OutboxRelay.class);
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private OutboxConfigProperties outboxConfigProperties;
+
+	@Autowired(required = false)
+	private List<OutboxEventHandler> handlers = new ArrayList<>();
+
+	@Scheduled(fixedDelayString = "${outbox.relayMillis:1000}")
+	public void relay() {
+		int batchSize = Math.max(1, outboxConfigProperties.getBatchSize());
+		List<Long> due;
+		do {
+			Date now = new Date();
+			due = outboxEventRepository.findDueIds(now, PageRequest.of(0, batchSize));
+			if (due.isEmpty()) {
+				return;
+			}
+			Long claimToken = outboxEventRepository.nextClaimToken().longValue();
+			Date claimedUntil = new Date(
+					now.getTime() + TimeUnit.SECONDS.toMillis(outboxConfigProperties.getClaimSeconds()));
+			outboxEventRepository.claim(due, claimToken, now, claimedUntil);
+			List<OutboxEvent> claimed = outboxEventRepository.findClaimed(claimToken);
+			List<Long> dispatched = new ArrayList<>(claimed.size());
+			for (OutboxEvent outboxEvent : claimed) {
+				Set<String> handled = handledBy(outboxEvent);
+				try {
+					dispatch(outboxEvent.toDomainEvent(), handled);
+					dispatched.add(outboxEvent.getId());
+				} catch (RuntimeException e) {
+					retryLater(outboxEvent, handled, e);
+				}
+			}
+			if (!dispatched.isEmpty()) {
+				outboxEventRepository.deleteDispatched(dispatched, claimToken);
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Relayed %s of %s claimed outbox events", dispatched.size(),
+						claimed.size()));
+			}
+		} while (due.size() == batchSize);
+	}
+
+	/**
+	 * Runs the supporting handlers not yet in {@code handled}, adding each one
+	 * that succeeds.
+	 */
+	private void dispatch(DomainEvent event, Set<String> handled) {
+		for (OutboxEventHandler handler : handlers) {
+			if (handler.supports(event.getType()) && !handled.contains(handler.getName())) {
+				handler.handle(event);
+				handled.add(handler.getName());
+			}
+		}
+	}
+
+	private static Set<String> handledBy(OutboxEvent outboxEvent) {
+		Set<String> handled = new LinkedHashSet<>();
+		if (outboxEvent.getHandledBy() != null && !outboxEvent.getHandledBy().isEmpty()) {
+			handled.addAll(Arrays.asList(outboxEvent.getHandledBy().split(",")));
+		}
+		return handled;
+	}
+
+	private void retryLater(OutboxEvent outboxEvent, Set<String> handled, RuntimeException e) {
+		int attempts = outboxEvent.getAttempts() + 1;
+		String error = String.valueOf(e.getMessage());
+		if (error.length() > MAX_ERROR_LENGTH) {
+			error = error.substring(0, MAX_ERROR_LENGTH);
+		}
+		if (attempts >= outboxConfigProperties.getMaxAttempts()) {
+			logger.error(String.format("Giving up on outbox event %s after %s attempts : %s", outboxEvent, attempts,
+					error));
+			outboxEventRepository.reschedule(outboxEvent.getId(), outboxEvent.getClaimToken(), OutboxEvent.FAILED,
+					attempts, outboxEvent.getNextAttemptAt(), error, String.join(",", handled));
+			return;
+		}
+		long delaySeconds = Math.min(outboxConfigProperties.getRetryMaxSeconds(),
+				(long) outboxConfigProperties.getRetryBaseSeconds() << Math.min(attempts - 1, 30));
+		Date nextAttemptAt = new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(delaySeconds));
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Outbox event %s failed, retry at %s : %s", outboxEvent, nextAttemptAt, error));
+		}
+		outboxEventRepository.reschedule(outboxEvent.getId(), outboxEvent.getClaimToken(), OutboxEvent.PENDING,
+				attempts, nextAttemptAt, error, String.join(",", handled));
+	}
+
+}
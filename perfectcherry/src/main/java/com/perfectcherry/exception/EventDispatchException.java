@@ -0,0 +1,11 @@
+package com.perfectcherry.exception;
+
+public class EventDispatchException extends RuntimeException {
+
+	private static final long serialVersionUID = -6287114309558104420L;
+
+	public EventDispatchException(String message) {
+		super(message);
+	}
+
+}
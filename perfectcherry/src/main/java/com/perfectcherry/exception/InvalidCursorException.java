@@ -0,0 +1,11 @@
+package com.perfectcherry.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+	private static final long serialVersionUID = 4011902756134592216L;
+
+	public InvalidCursorException(String message) {
+		super(message);
+	}
+
+}
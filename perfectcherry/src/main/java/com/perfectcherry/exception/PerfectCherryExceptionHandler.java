@@ -17,6 +17,11 @@ public class PerfectCherryExceptionHandler extends ResponseEntityExceptionHandle
 		return new ResponseEntity<>(new ResponseDTO(ex.getMessage()), HttpStatus.BAD_REQUEST);
 	}
 
+	@ExceptionHandler(InvalidCursorException.class)
+	public final ResponseEntity<ResponseDTO> invalidCursorException(InvalidCursorException ex) {
+		return new ResponseEntity<>(new ResponseDTO(ex.getMessage()), HttpStatus.BAD_REQUEST);
+	}
+
 	@ExceptionHandler(MaxUploadSizeExceededException.class)
 	public final ResponseEntity<ResponseDTO> maxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
 		return new ResponseEntity<>(new ResponseDTO(ex.toString()), HttpStatus.BAD_REQUEST);
@@ -0,0 +1,193 @@
+package com.perfectcherry.interest;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.perfectcherry.dto.InterestCountsDTO;
+import com.perfectcherry.dto.InterestStatusCount;
+import com.perfectcherry.pcenum.InterestEnum;
+import com.perfectcherry.repository.InterestRepository;
+
+/**
+ * Per-user interest badge counters. Interest transitions adjust them in place
+ * and a periodic reconciliation replaces them with fresh SQL counts, which
+ * also repairs any drift from transitions that were rolled back. A transaction
+ * that changes interests holds off the reconciliation from its commit until
+ * its transitions are recorded, so each one is either in the SQL counts or
+ * recorded on top of them, never both.
+ */
+@Component
+public class InterestCounters {
+
+	private static final int PENDING_RECEIVED = 0;
+
+	private static final int PENDING_SENT = 1;
+
+	private static final int ACCEPTED = 2;
+
+	private static final int DECLINED = 3;
+
+	private static final int SIZE = 4;
+
+	private static final int NONE = -1;
+
+	private Logger logger = LogManager.getLogger(InterestCounters.class);
+
+	@Autowired
+	private InterestRepository interestRepository;
+
+	private volatile ConcurrentHashMap<Long, AtomicIntegerArray> counters = new ConcurrentHashMap<>();
+
+	/**
+	 * Read by committing interest transactions until completion, written by
+	 * load() around the counts and the swap.
+	 */
+	private final ReadWriteLock loadLock = new ReentrantReadWriteLock();
+
+	private volatile boolean ready;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		loadLock.writeLock().lock();
+		try {
+			ConcurrentHashMap<Long, AtomicIntegerArray> loaded = new ConcurrentHashMap<>();
+			List<InterestStatusCount> sent = interestRepository.countSentByStatus();
+			List<InterestStatusCount> received = interestRepository.countReceivedByStatus();
+			sent.forEach(count -> add(loaded, count.getUserId(), sentSlot(count.getStatus()), count.getTotal()));
+			received.forEach(
+					count -> add(loaded, count.getUserId(), receivedSlot(count.getStatus()), count.getTotal()));
+			counters = loaded;
+			ready = true;
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Loaded interest counters of %s users", loaded.size()));
+			}
+		} catch (RuntimeException e) {
+			logger.error(String.format("Unable to load the interest counters : %s", e.toString()));
+		} finally {
+			loadLock.writeLock().unlock();
+		}
+	}
+
+	@Scheduled(initialDelayString = "${interest.countersReconcileMillis:600000}",
+			fixedDelayString = "${interest.countersReconcileMillis:600000}")
+	public void reconcile() {
+		load();
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Called before the current transaction commits interest changes: blocks
+	 * load() until the transaction has completed and its after-commit listeners
+	 * have recorded the transitions. Once per transaction.
+	 */
+	public void holdLoadUntilCompletion() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()
+				|| TransactionSynchronizationManager.hasResource(loadLock)) {
+			return;
+		}
+		loadLock.readLock().lock();
+		TransactionSynchronizationManager.bindResource(loadLock, Boolean.TRUE);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			// after the transactional event listeners, which record in afterCompletion
+			@Override
+			public int getOrder() {
+				return Ordered.LOWEST_PRECEDENCE;
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(loadLock);
+				loadLock.readLock().unlock();
+			}
+		});
+	}
+
+	/**
+	 * Moves the interest sent by userId to interestedOn from one status to
+	 * another. Null or Cancelled stands for no interest.
+	 */
+	public void record(Long userId, Long interestedOn, InterestEnum from, InterestEnum to) {
+		if (!ready) {
+			return;
+		}
+		ConcurrentHashMap<Long, AtomicIntegerArray> current = counters;
+		if (from != null) {
+			add(current, userId, sentSlot(from), -1);
+			add(current, interestedOn, receivedSlot(from), -1);
+		}
+		if (to != null) {
+			add(current, userId, sentSlot(to), 1);
+			add(current, interestedOn, receivedSlot(to), 1);
+		}
+	}
+
+	/**
+	 * Counts of the user, read from SQL while the counters are not loaded yet.
+	 */
+	public InterestCountsDTO counts(Long userId) {
+		AtomicIntegerArray values;
+		if (ready) {
+			values = counters.get(userId);
+		} else {
+			ConcurrentHashMap<Long, AtomicIntegerArray> loaded = new ConcurrentHashMap<>();
+			interestRepository.countSentByStatus(userId)
+					.forEach(count -> add(loaded, userId, sentSlot(count.getStatus()), count.getTotal()));
+			interestRepository.countReceivedByStatus(userId)
+					.forEach(count -> add(loaded, userId, receivedSlot(count.getStatus()), count.getTotal()));
+			values = loaded.get(userId);
+		}
+		if (values == null) {
+			return new InterestCountsDTO(userId, 0, 0, 0, 0);
+		}
+		return new InterestCountsDTO(userId, value(values, PENDING_RECEIVED), value(values, PENDING_SENT),
+				value(values, ACCEPTED), value(values, DECLINED));
+	}
+
+	private static void add(ConcurrentHashMap<Long, AtomicIntegerArray> counters, Long userId, int slot,
+			long delta) {
+		if (slot == NONE || userId == null) {
+			return;
+		}
+		counters.computeIfAbsent(userId, key -> new AtomicIntegerArray(SIZE)).addAndGet(slot, (int) delta);
+	}
+
+	private static int value(AtomicIntegerArray values, int slot) {
+		return Math.max(0, values.get(slot));
+	}
+
+	private static int sentSlot(InterestEnum status) {
+		return status == InterestEnum.P ? PENDING_SENT : sharedSlot(status);
+	}
+
+	private static int receivedSlot(InterestEnum status) {
+		return status == InterestEnum.P ? PENDING_RECEIVED : sharedSlot(status);
+	}
+
+	private static int sharedSlot(InterestEnum status) {
+		if (status == InterestEnum.A) {
+			return ACCEPTED;
+		}
+		if (status == InterestEnum.D) {
+			return DECLINED;
+		}
+		return NONE;
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.perfectcherry.interest;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Date;
+
+import com.perfectcherry.constant.InterestConstants;
+import com.perfectcherry.dto.InterestCardDTO;
+import com.perfectcherry.exception.InvalidCursorException;
+
+/**
+ * Opaque keyset position in an interest list sorted newest first: the
+ * updatedDate and interestId of the last card a client has seen.
+ */
+public final class InterestCursor {
+
+	/**
+	 * 9999-12-31 00:00 UTC, still inside the DATETIME range after conversion to
+	 * any session time zone. Later cursor dates are bound as this.
+	 */
+	private static final long MAX_UPDATED_DATE = 253402214400000L;
+
+	/**
+	 * Position before the first card of any list.
+	 */
+	public static final InterestCursor FIRST = new InterestCursor(MAX_UPDATED_DATE, Long.MAX_VALUE);
+
+	private final long updatedDate;
+
+	private final long interestId;
+
+	public InterestCursor(long updatedDate, long interestId) {
+		this.updatedDate = updatedDate;
+		this.interestId = interestId;
+	}
+
+	public static InterestCursor of(InterestCardDTO card) {
+		return new InterestCursor(card.getUpdatedDate().getTime(), card.getInterestId());
+	}
+
+	public static InterestCursor decode(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return FIRST;
+		}
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+			if (buffer.remaining() != 2 * Long.BYTES) {
+				throw new InvalidCursorException(InterestConstants.INVALID_CURSOR_MESSAGE);
+			}
+			return new InterestCursor(buffer.getLong(), buffer.getLong());
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException(InterestConstants.INVALID_CURSOR_MESSAGE);
+		}
+	}
+
+	public String encode() {
+		ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES).putLong(updatedDate).putLong(interestId);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+	}
+
+	public Date getUpdatedDate() {
+		return new Date(Math.min(updatedDate, MAX_UPDATED_DATE));
+	}
+
+	public long getInterestId() {
+		return interestId;
+	}
+
+}
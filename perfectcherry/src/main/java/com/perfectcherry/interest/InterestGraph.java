@@ -0,0 +1,250 @@
+package com.perfectcherry.interest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.discovery.LongIntHashMap;
+import com.perfectcherry.dto.InterestPair;
+import com.perfectcherry.pcenum.InterestEnum;
+import com.perfectcherry.repository.InterestRepository;
+
+/**
+ * Directed interest graph held in memory. Every user has one primitive map
+ * from counterpart to the status of the interest sent to them and of the one
+ * received from them, so pair checks are a single lookup.
+ */
+@Component
+public class InterestGraph {
+
+	private static final int NONE = 0;
+
+	private static final int PENDING = 1;
+
+	private static final int ACCEPTED = 2;
+
+	private static final int DECLINED = 3;
+
+	private static final int RECEIVED_SHIFT = 2;
+
+	private static final int SENT_MASK = 3;
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	private Logger logger = LogManager.getLogger(InterestGraph.class);
+
+	@Autowired
+	private InterestRepository interestRepository;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private Map<Long, LongIntHashMap> edges = new HashMap<>();
+
+	/**
+	 * Writes received while load() reads the interest pairs, replayed on top of
+	 * them. Guarded by the write lock.
+	 */
+	private final List<Runnable> pendingWrites = new ArrayList<>();
+
+	private volatile boolean loading;
+
+	private volatile boolean ready;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		setLoading(true);
+		try {
+			List<InterestPair> pairs = interestRepository.findAllInterestPairs();
+			Map<Long, LongIntHashMap> loaded = new HashMap<>();
+			pairs.forEach(pair -> link(loaded, pair.getUserId(), pair.getInterestedOn(), statusCode(pair.getStatus())));
+			lock.writeLock().lock();
+			try {
+				edges = loaded;
+				loading = false;
+				ready = true;
+				List<Runnable> writes = new ArrayList<>(pendingWrites);
+				pendingWrites.clear();
+				writes.forEach(Runnable::run);
+			} finally {
+				lock.writeLock().unlock();
+			}
+			logger.info(String.format("Loaded %s interests into the interest graph", pairs.size()));
+		} catch (RuntimeException e) {
+			logger.error(String.format("Unable to load the interest graph : %s", e.toString()));
+		} finally {
+			setLoading(false);
+		}
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Records the current status of the interest sent by userId to interestedOn.
+	 */
+	public void put(Long userId, Long interestedOn, InterestEnum status) {
+		if (deferWhileLoading(() -> put(userId, interestedOn, status))) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			link(edges, userId, interestedOn, statusCode(status));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Long userId, Long interestedOn) {
+		if (deferWhileLoading(() -> remove(userId, interestedOn))) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			link(edges, userId, interestedOn, NONE);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * True when userId has sent an interest to interestedOn, whatever its
+	 * status.
+	 */
+	public boolean hasSent(long userId, long interestedOn) {
+		return (edge(userId, interestedOn) & SENT_MASK) != NONE;
+	}
+
+	/**
+	 * True when there is an interest between the two users in either direction.
+	 */
+	public boolean isConnected(long userId, long otherUserId) {
+		return edge(userId, otherUserId) != NONE;
+	}
+
+	/**
+	 * True when either user has accepted the other's interest.
+	 */
+	public boolean isMutual(long userId, long otherUserId) {
+		int edge = edge(userId, otherUserId);
+		return (edge & SENT_MASK) == ACCEPTED || edge >>> RECEIVED_SHIFT == ACCEPTED;
+	}
+
+	/**
+	 * True when an interest between the two users, in either direction, is
+	 * still pending.
+	 */
+	public boolean isPendingEitherWay(long userId, long otherUserId) {
+		int edge = edge(userId, otherUserId);
+		return (edge & SENT_MASK) == PENDING || edge >>> RECEIVED_SHIFT == PENDING;
+	}
+
+	/**
+	 * Users whose interest is accepted in either direction, in id order.
+	 */
+	public long[] mutualMatches(long userId) {
+		lock.readLock().lock();
+		try {
+			LongIntHashMap userEdges = edges.get(userId);
+			if (userEdges == null) {
+				return new long[0];
+			}
+			long[] matches = new long[userEdges.size()];
+			int[] count = new int[1];
+			userEdges.forEach((otherUserId, edge) -> {
+				if ((edge & SENT_MASK) == ACCEPTED || edge >>> RECEIVED_SHIFT == ACCEPTED) {
+					matches[count[0]++] = otherUserId;
+				}
+			});
+			long[] sorted = Arrays.copyOf(matches, count[0]);
+			Arrays.sort(sorted);
+			return sorted;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void setLoading(boolean loading) {
+		lock.writeLock().lock();
+		try {
+			this.loading = loading;
+			pendingWrites.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Queues the write for replay while a load is running. True when the caller
+	 * should not apply it now because the graph is not ready.
+	 */
+	private boolean deferWhileLoading(Runnable write) {
+		if (ready && !loading) {
+			return false;
+		}
+		lock.writeLock().lock();
+		try {
+			if (loading) {
+				pendingWrites.add(write);
+			}
+			return !ready;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private int edge(long userId, long otherUserId) {
+		lock.readLock().lock();
+		try {
+			LongIntHashMap userEdges = edges.get(userId);
+			if (userEdges == null) {
+				return NONE;
+			}
+			int edge = userEdges.get(otherUserId);
+			return edge == LongIntHashMap.NO_VALUE ? NONE : edge;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static void link(Map<Long, LongIntHashMap> edges, long userId, long interestedOn, int status) {
+		update(edges, userId, interestedOn, ~SENT_MASK, status);
+		update(edges, interestedOn, userId, SENT_MASK, status << RECEIVED_SHIFT);
+	}
+
+	private static void update(Map<Long, LongIntHashMap> edges, long userId, long otherUserId, int keep, int bits) {
+		LongIntHashMap userEdges = edges.computeIfAbsent(userId, key -> new LongIntHashMap(INITIAL_CAPACITY));
+		int edge = userEdges.get(otherUserId);
+		edge = ((edge == LongIntHashMap.NO_VALUE ? NONE : edge) & keep) | bits;
+		if (edge == NONE) {
+			userEdges.remove(otherUserId);
+			if (userEdges.size() == 0) {
+				edges.remove(userId);
+			}
+		} else {
+			userEdges.put(otherUserId, edge);
+		}
+	}
+
+	private static int statusCode(InterestEnum status) {
+		if (status == InterestEnum.A) {
+			return ACCEPTED;
+		}
+		if (status == InterestEnum.D || status == InterestEnum.E) {
+			return DECLINED;
+		}
+		return PENDING;
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.perfectcherry.interest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.perfectcherry.configuration.properties.InterestConfigProperties;
+import com.perfectcherry.entity.Interest;
+import com.perfectcherry.event.DomainEvent;
+import com.perfectcherry.event.DomainEventPublisher;
+import com.perfectcherry.pcenum.DomainEventType;
+import com.perfectcherry.pcenum.InterestEnum;
+import com.perfectcherry.repository.InterestRepository;
+
+/**
+ * Keeps the interest table small: pending interests older than
+ * interest.expireAfterDays expire, and declined or expired ones older than
+ * interest.archiveAfterDays move to interest_archive. Archived pairs are
+ * forgotten, so the two users can meet in discovery and send interests
+ * again. Work is done in short transactions of interest.sweepChunkSize rows
+ * with a pause between them.
+ */
+@Component
+public class InterestSweeper {
+
+	private static final List<InterestEnum> PENDING = Collections.singletonList(InterestEnum.P);
+
+	private static final List<InterestEnum> CLOSED = Arrays.asList(InterestEnum.D, InterestEnum.E);
+
+	private Logger logger = LogManager.getLogger(InterestSweeper.class);
+
+	@Autowired
+	private InterestRepository interestRepository;
+
+	@Autowired
+	private InterestConfigProperties interestConfigProperties;
+
+	@Autowired
+	private DomainEventPublisher domainEventPublisher;
+
+	@Autowired
+	private InterestCounters interestCounters;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Scheduled(initialDelayString = "${interest.sweepMillis:3600000}",
+			fixedDelayString = "${interest.sweepMillis:3600000}")
+	public void sweep() {
+		if (!interestConfigProperties.isSweepEnabled()) {
+			return;
+		}
+		try {
+			int expired = inChunks(PENDING, interestConfigProperties.getExpireAfterDays(), this::expire);
+			int archived = inChunks(CLOSED, interestConfigProperties.getArchiveAfterDays(), this::archive);
+			if (archived > 0) {
+				interestCounters.load();
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Interest sweep expired %s and archived %s interests", expired, archived));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException e) {
+			logger.error(String.format("Interest sweep failed : %s", e.toString()));
+		}
+	}
+
+	private int inChunks(List<InterestEnum> statuses, int afterDays, Function<List<Interest>, Integer> step)
+			throws InterruptedException {
+		int chunkSize = Math.max(1, interestConfigProperties.getSweepChunkSize());
+		Date before = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(afterDays));
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		int total = 0;
+		for (int chunk = 0; chunk < interestConfigProperties.getSweepMaxChunks(); chunk++) {
+			List<Interest> interests = interestRepository.findUpdatedBefore(statuses, before,
+					PageRequest.of(0, chunkSize));
+			if (interests.isEmpty()) {
+				break;
+			}
+			total += transactionTemplate.execute(status -> step.apply(interests));
+			if (interests.size() < chunkSize) {
+				break;
+			}
+			Thread.sleep(interestConfigProperties.getSweepPauseMillis());
+		}
+		return total;
+	}
+
+	private int expire(List<Interest> interests) {
+		List<Long> interestIds = interestIds(interests);
+		int expired = interestRepository.expireInterests(interestIds, new Date());
+		if (expired < interests.size()) {
+			Set<Long> expiredIds = new HashSet<>(interestRepository.findExpiredInterestIds(interestIds));
+			interests = interests.stream().filter(interest -> expiredIds.contains(interest.getInterestId()))
+					.collect(Collectors.toList());
+		}
+		publish(DomainEventType.INTEREST_EXPIRED, interests);
+		return expired;
+	}
+
+	private int archive(List<Interest> interests) {
+		int archived = interestRepository.archiveInterests(interestIds(interests));
+		publish(DomainEventType.INTEREST_ARCHIVED, interests);
+		return archived;
+	}
+
+	private void publish(DomainEventType type, Collection<Interest> interests) {
+		domainEventPublisher.publishAll(
+				interests.stream().map(interest -> DomainEvent.of(type, interest)).collect(Collectors.toList()));
+	}
+
+	private static List<Long> interestIds(List<Interest> interests) {
+		return interests.stream().map(Interest::getInterestId).collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.perfectcherry.mail;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.perfectcherry.configuration.properties.NotificationConfigProperties;
+import com.perfectcherry.dto.ResponseDTO;
+import com.perfectcherry.entity.InterestDigestEntry;
+import com.perfectcherry.repository.InterestDigestRepository;
+import com.perfectcherry.service.PCEmailService;
+
+/**
+ * Turns held interest events into one digest mail per recipient once their
+ * oldest event is notification.digestWindowMinutes old or they have
+ * notification.digestMaxEvents of them. The digest is spooled and its events
+ * deleted in the same transaction.
+ */
+@Component
+public class InterestDigestFlusher {
+
+	private Logger logger = LogManager.getLogger(InterestDigestFlusher.class);
+
+	@Autowired
+	private InterestDigestRepository interestDigestRepository;
+
+	@Autowired
+	private PCEmailService pcEmailService;
+
+	@Autowired
+	private NotificationConfigProperties notificationConfigProperties;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Scheduled(fixedDelayString = "${notification.digestFlushMillis:60000}")
+	public void flush() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		int batchSize = Math.max(1, notificationConfigProperties.getDigestBatchSize());
+		List<Long> recipients;
+		do {
+			Date createdBefore = new Date(System.currentTimeMillis()
+					- TimeUnit.MINUTES.toMillis(notificationConfigProperties.getDigestWindowMinutes()));
+			recipients = interestDigestRepository.findDueRecipients(createdBefore,
+					notificationConfigProperties.getDigestMaxEvents(), PageRequest.of(0, batchSize));
+			int sent = 0;
+			for (Long recipientId : recipients) {
+				Boolean flushed = transactionTemplate.execute(status -> flush(recipientId));
+				sent += Boolean.TRUE.equals(flushed) ? 1 : 0;
+			}
+			if (logger.isDebugEnabled() && !recipients.isEmpty()) {
+				logger.debug(String.format("Flushed interest digests of %s of %s recipients", sent, recipients.size()));
+			}
+			if (sent == 0) {
+				return;
+			}
+		} while (recipients.size() == batchSize);
+	}
+
+	private boolean flush(Long recipientId) {
+		List<InterestDigestEntry> entries = interestDigestRepository.findByRecipient(recipientId);
+		if (entries.isEmpty()) {
+			return false;
+		}
+		ResponseEntity<ResponseDTO> response = pcEmailService.sendInterestDigest(recipientId, entries);
+		if (response.getStatusCode().is5xxServerError()) {
+			return false;
+		}
+		interestDigestRepository
+				.deleteEntries(entries.stream().map(InterestDigestEntry::getId).collect(Collectors.toList()));
+		return true;
+	}
+
+}
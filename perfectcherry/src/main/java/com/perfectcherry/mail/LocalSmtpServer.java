@@ -0,0 +1,316 @@
+package com.perfectcherry.mail;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * SMTP sink on the loopback interface for the local profile and for tests:
+ * accepts every message without delivering it and keeps the latest ones with
+ * their arrival time. Speaks just enough ESMTP for JavaMail - EHLO, AUTH
+ * PLAIN/LOGIN with any credentials, MAIL, RCPT, DATA, RSET, NOOP and QUIT - and
+ * never offers STARTTLS. Port 0 picks a free port, see getPort.
+ */
+public class LocalSmtpServer {
+
+	private static final int DEFAULT_RETAINED = 10000;
+
+	private Logger logger = LogManager.getLogger(LocalSmtpServer.class);
+
+	private final int port;
+
+	private final BlockingQueue<ReceivedMail> received;
+
+	private final AtomicLong connections = new AtomicLong();
+
+	private final AtomicLong messages = new AtomicLong();
+
+	private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+
+	private ServerSocket serverSocket;
+
+	private ExecutorService executor;
+
+	public LocalSmtpServer(int port) {
+		this(port, DEFAULT_RETAINED);
+	}
+
+	public LocalSmtpServer(int port, int retained) {
+		this.port = port;
+		this.received = new LinkedBlockingQueue<>(Math.max(1, retained));
+	}
+
+	public synchronized void start() throws IOException {
+		if (serverSocket != null) {
+			return;
+		}
+		serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+		AtomicInteger threadNumber = new AtomicInteger();
+		executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "local-smtp-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		ServerSocket listening = serverSocket;
+		executor.execute(() -> accept(listening));
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Local SMTP server listening on port %s", getPort()));
+		}
+	}
+
+	public synchronized void stop() {
+		if (serverSocket == null) {
+			return;
+		}
+		try {
+			serverSocket.close();
+		} catch (IOException e) {
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Exception occurred while closing local SMTP server : %s", e.toString()));
+			}
+		}
+		for (Socket socket : sockets) {
+			close(socket);
+		}
+		executor.shutdownNow();
+		serverSocket = null;
+	}
+
+	/**
+	 * Bound port, the configured one unless that was 0.
+	 */
+	public synchronized int getPort() {
+		return serverSocket != null ? serverSocket.getLocalPort() : port;
+	}
+
+	public long getConnectionCount() {
+		return connections.get();
+	}
+
+	public long getMessageCount() {
+		return messages.get();
+	}
+
+	/**
+	 * Removes and returns the messages received since the last call, oldest
+	 * first. Only the latest ones are retained between calls.
+	 */
+	public List<ReceivedMail> drainReceived() {
+		List<ReceivedMail> mails = new ArrayList<>(received.size());
+		received.drainTo(mails);
+		return mails;
+	}
+
+	private void accept(ServerSocket listening) {
+		while (!listening.isClosed()) {
+			try {
+				Socket socket = listening.accept();
+				connections.incrementAndGet();
+				sockets.add(socket);
+				executor.execute(() -> serve(socket));
+			} catch (IOException e) {
+				return;
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try {
+			BufferedReader in = new BufferedReader(
+					new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+			OutputStream out = socket.getOutputStream();
+			reply(out, "220 localhost ESMTP sink");
+			List<String> recipients = new ArrayList<>();
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = line.length() < 4 ? line.toUpperCase() : line.substring(0, 4).toUpperCase();
+				switch (command) {
+				case "EHLO":
+					reply(out, "250-localhost\r\n250-AUTH PLAIN LOGIN\r\n250-8BITMIME\r\n250 OK");
+					break;
+				case "HELO":
+					reply(out, "250 localhost");
+					break;
+				case "AUTH":
+					authenticate(line, in, out);
+					break;
+				case "MAIL":
+				case "RSET":
+					recipients.clear();
+					reply(out, "250 OK");
+					break;
+				case "RCPT":
+					recipients.add(address(line));
+					reply(out, "250 OK");
+					break;
+				case "DATA":
+					if (recipients.isEmpty()) {
+						reply(out, "503 RCPT first");
+						break;
+					}
+					reply(out, "354 End data with <CR><LF>.<CR><LF>");
+					byte[] data = readData(in);
+					retain(new ReceivedMail(new ArrayList<>(recipients), subject(data), data.length,
+							System.nanoTime()));
+					recipients.clear();
+					reply(out, "250 OK");
+					break;
+				case "NOOP":
+					reply(out, "250 OK");
+					break;
+				case "QUIT":
+					reply(out, "221 Bye");
+					return;
+				default:
+					reply(out, "502 Command not implemented");
+				}
+			}
+		} catch (IOException e) {
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Local SMTP connection closed : %s", e.toString()));
+			}
+		} finally {
+			sockets.remove(socket);
+			close(socket);
+		}
+	}
+
+	private void authenticate(String line, BufferedReader in, OutputStream out) throws IOException {
+		String[] parts = line.split(" ");
+		String mechanism = parts.length > 1 ? parts[1].toUpperCase() : "";
+		if ("LOGIN".equals(mechanism)) {
+			if (parts.length < 3) {
+				reply(out, "334 VXNlcm5hbWU6");
+				in.readLine();
+			}
+			reply(out, "334 UGFzc3dvcmQ6");
+			in.readLine();
+		} else if ("PLAIN".equals(mechanism)) {
+			if (parts.length < 3) {
+				reply(out, "334 ");
+				in.readLine();
+			}
+		} else {
+			reply(out, "504 Unrecognized authentication type");
+			return;
+		}
+		reply(out, "235 Authentication successful");
+	}
+
+	private byte[] readData(BufferedReader in) throws IOException {
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		String line;
+		while ((line = in.readLine()) != null && !".".equals(line)) {
+			if (line.startsWith(".")) {
+				line = line.substring(1);
+			}
+			data.write(line.getBytes(StandardCharsets.ISO_8859_1));
+			data.write('\r');
+			data.write('\n');
+		}
+		messages.incrementAndGet();
+		return data.toByteArray();
+	}
+
+	private void retain(ReceivedMail mail) {
+		while (!received.offer(mail)) {
+			received.poll();
+		}
+	}
+
+	private static String address(String line) {
+		int start = line.indexOf('<');
+		int end = line.indexOf('>', start + 1);
+		if (start >= 0 && end > start) {
+			return line.substring(start + 1, end);
+		}
+		int colon = line.indexOf(':');
+		return colon >= 0 ? line.substring(colon + 1).trim() : "";
+	}
+
+	private static String subject(byte[] data) {
+		try {
+			return new MimeMessage((Session) null, new ByteArrayInputStream(data)).getSubject();
+		} catch (MessagingException e) {
+			return null;
+		}
+	}
+
+	private static void reply(OutputStream out, String reply) throws IOException {
+		out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+	}
+
+	private static void close(Socket socket) {
+		try {
+			socket.close();
+		} catch (IOException e) {
+			// already closed by the peer
+		}
+	}
+
+	/**
+	 * A message as the sink received it; receivedNanos is System.nanoTime at the
+	 * end of DATA.
+	 */
+	public static final class ReceivedMail {
+
+		private final List<String> recipients;
+
+		private final String subject;
+
+		private final int size;
+
+		private final long receivedNanos;
+
+		ReceivedMail(List<String> recipients, String subject, int size, long receivedNanos) {
+			this.recipients = Collections.unmodifiableList(recipients);
+			this.subject = subject;
+			this.size = size;
+			this.receivedNanos = receivedNanos;
+		}
+
+		public List<String> getRecipients() {
+			return recipients;
+		}
+
+		public String getSubject() {
+			return subject;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		public long getReceivedNanos() {
+			return receivedNanos;
+		}
+
+	}
+
+}
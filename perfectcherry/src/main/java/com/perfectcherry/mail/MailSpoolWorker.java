@@ -0,0 +1,159 @@
+package com.perfectcherry.mail;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.configuration.properties.MailSpoolConfigProperties;
+import com.perfectcherry.entity.MailSpool;
+import com.perfectcherry.exception.PerfectCherryException;
+import com.perfectcherry.repository.MailSpoolRepository;
+import com.perfectcherry.service.MailService;
+
+/**
+ * Drains the mail spool over SMTP with mailspool.senderThreads senders, each
+ * sending its share of a claimed batch over one pooled connection. Due
+ * mails are claimed by a conditional update before sending, so several
+ * instances can poll the same table; a claim that is never settled, e.g.
+ * after a crash, lapses after mailspool.claimSeconds and the mail is sent
+ * again. Failures are retried with exponential backoff and parked with
+ * status F after mailspool.maxAttempts.
+ */
+@Component
+public class MailSpoolWorker {
+
+	private static final int MAX_ERROR_LENGTH = 255;
+
+	private Logger logger = LogManager.getLogger(MailSpoolWorker.class);
+
+	@Autowired
+	private MailSpoolRepository mailSpoolRepository;
+
+	@Autowired
+	private MailSpoolConfigProperties mailSpoolConfigProperties;
+
+	@Autowired
+	private MailService mailService;
+
+	private ExecutorService senders;
+
+	@PostConstruct
+	public void init() {
+		senders = Executors.newFixedThreadPool(Math.max(1, mailSpoolConfigProperties.getSenderThreads()));
+	}
+
+	@Scheduled(fixedDelayString = "${mailspool.pollMillis:1000}")
+	public void drain() {
+		int batchSize = Math.max(1, mailSpoolConfigProperties.getBatchSize());
+		List<Long> due;
+		do {
+			Date now = new Date();
+			due = mailSpoolRepository.findDueIds(now, PageRequest.of(0, batchSize));
+			if (due.isEmpty()) {
+				return;
+			}
+			Long claimToken = mailSpoolRepository.nextClaimToken().longValue();
+			Date claimedUntil = new Date(
+					now.getTime() + TimeUnit.SECONDS.toMillis(mailSpoolConfigProperties.getClaimSeconds()));
+			mailSpoolRepository.claim(due, claimToken, now, claimedUntil);
+			List<MailSpool> claimed = mailSpoolRepository.findClaimed(claimToken);
+			int senderCount = Math.max(1, mailSpoolConfigProperties.getSenderThreads());
+			int share = (claimed.size() + senderCount - 1) / senderCount;
+			List<Future<?>> sends = new ArrayList<>(senderCount);
+			for (int from = 0; from < claimed.size(); from += share) {
+				List<MailSpool> mails = claimed.subList(from, Math.min(claimed.size(), from + share));
+				sends.add(senders.submit(() -> deliver(mails)));
+			}
+			try {
+				for (Future<?> send : sends) {
+					send.get();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ExecutionException e) {
+				logger.error(String.format("Mail sender failed : %s", e.getCause()));
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Processed %s of %s due spooled mails", claimed.size(), due.size()));
+			}
+		} while (due.size() == batchSize);
+	}
+
+	@Scheduled(initialDelayString = "${mailspool.purgeMillis:3600000}",
+			fixedDelayString = "${mailspool.purgeMillis:3600000}")
+	public void purge() {
+		Date before = new Date(
+				System.currentTimeMillis() - TimeUnit.HOURS.toMillis(mailSpoolConfigProperties.getRetentionHours()));
+		int purged = mailSpoolRepository.deleteDeliveredBefore(before);
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Purged %s delivered mails sent before %s", purged, before));
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		senders.shutdown();
+	}
+
+	private void deliver(List<MailSpool> mails) {
+		List<PerfectCherryException> failures;
+		try {
+			failures = mailService.deliverMails(mails.stream().map(MailSpool::toMailDTO).collect(Collectors.toList()));
+		} catch (RuntimeException e) {
+			mails.forEach(mailSpool -> retryLater(mailSpool, e));
+			return;
+		}
+		List<Long> delivered = new ArrayList<>(mails.size());
+		for (int i = 0; i < mails.size(); i++) {
+			if (null == failures.get(i)) {
+				delivered.add(mails.get(i).getId());
+			} else {
+				retryLater(mails.get(i), failures.get(i));
+			}
+		}
+		if (!delivered.isEmpty()) {
+			mailSpoolRepository.markDelivered(delivered, mails.get(0).getClaimToken(), new Date());
+		}
+	}
+
+	private void retryLater(MailSpool mailSpool, Exception e) {
+		int attempts = mailSpool.getAttempts() + 1;
+		String error = String.valueOf(e.getMessage());
+		if (error.length() > MAX_ERROR_LENGTH) {
+			error = error.substring(0, MAX_ERROR_LENGTH);
+		}
+		if (attempts >= mailSpoolConfigProperties.getMaxAttempts()) {
+			logger.error(String.format("Giving up on spooled mail %s after %s attempts : %s", mailSpool, attempts,
+					error));
+			mailSpoolRepository.reschedule(mailSpool.getId(), mailSpool.getClaimToken(), MailSpool.DEAD, attempts,
+					mailSpool.getNextAttemptAt(), error);
+			return;
+		}
+		long delaySeconds = Math.min(mailSpoolConfigProperties.getRetryMaxSeconds(),
+				(long) mailSpoolConfigProperties.getRetryBaseSeconds() << Math.min(attempts - 1, 30));
+		Date nextAttemptAt = new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(delaySeconds));
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Spooled mail %s failed, retry at %s : %s", mailSpool, nextAttemptAt, error));
+		}
+		mailSpoolRepository.reschedule(mailSpool.getId(), mailSpool.getClaimToken(), MailSpool.QUEUED, attempts,
+				nextAttemptAt, error);
+	}
+
+}
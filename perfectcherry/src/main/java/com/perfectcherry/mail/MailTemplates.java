@@ -0,0 +1,84 @@
+package com.perfectcherry.mail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import com.perfectcherry.constant.EmailConstants;
+import com.perfectcherry.dto.MailDTO;
+
+/**
+ * Renders mail bodies from the HTML and plain text templates under
+ * classpath:mail/. The engine is private to mails, so it does not replace
+ * the web view engine, and parses every template once at startup into its
+ * cache; rendering only evaluates the model against the parsed template.
+ */
+@Component
+public class MailTemplates {
+
+	private static final String HTML_SUFFIX = ".html";
+
+	private static final String TEXT_SUFFIX = ".txt";
+
+	private static final List<String> TEMPLATES = Arrays.asList(EmailConstants.FORGOT_PASSWORD_TEMPLATE,
+			EmailConstants.RESET_PASSWORD_TEMPLATE, EmailConstants.INTEREST_SENT_TEMPLATE,
+			EmailConstants.INTEREST_ACCEPTED_TEMPLATE, EmailConstants.INTEREST_DECLINED_TEMPLATE,
+			EmailConstants.INTEREST_DIGEST_TEMPLATE);
+
+	private Logger logger = LogManager.getLogger(MailTemplates.class);
+
+	private TemplateEngine templateEngine;
+
+	@PostConstruct
+	public void init() {
+		SpringTemplateEngine springTemplateEngine = new SpringTemplateEngine();
+		springTemplateEngine.setEnableSpringELCompiler(true);
+		springTemplateEngine.addTemplateResolver(resolver(HTML_SUFFIX, TemplateMode.HTML, 1));
+		springTemplateEngine.addTemplateResolver(resolver(TEXT_SUFFIX, TemplateMode.TEXT, 2));
+		templateEngine = springTemplateEngine;
+		Context context = new Context(Locale.ENGLISH);
+		for (String template : TEMPLATES) {
+			templateEngine.process(template + HTML_SUFFIX, context);
+			templateEngine.process(template + TEXT_SUFFIX, context);
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Parsed %s mail templates", TEMPLATES.size()));
+		}
+	}
+
+	/**
+	 * Sets the plain text and HTML bodies of {@code mailDTO} from
+	 * {@code template} rendered with {@code model}.
+	 */
+	public MailDTO render(MailDTO mailDTO, String template, Map<String, Object> model) {
+		Context context = new Context(Locale.ENGLISH, model);
+		mailDTO.setMailContent(templateEngine.process(template + TEXT_SUFFIX, context));
+		mailDTO.setHtmlContent(templateEngine.process(template + HTML_SUFFIX, context));
+		return mailDTO;
+	}
+
+	private static ClassLoaderTemplateResolver resolver(String suffix, TemplateMode templateMode, int order) {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("mail/");
+		resolver.setResolvablePatterns(Collections.singleton("*" + suffix));
+		resolver.setTemplateMode(templateMode);
+		resolver.setCharacterEncoding("UTF-8");
+		resolver.setCacheable(true);
+		resolver.setOrder(order);
+		return resolver;
+	}
+
+}
@@ -0,0 +1,264 @@
+package com.perfectcherry.mail;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.configuration.properties.MailBenchmarkConfigProperties;
+import com.perfectcherry.configuration.properties.NotificationConfigProperties;
+import com.perfectcherry.constant.EmailConstants;
+import com.perfectcherry.dto.InterestDTO;
+import com.perfectcherry.entity.Interest;
+import com.perfectcherry.entity.UserAccount;
+import com.perfectcherry.pcenum.NotificationMode;
+import com.perfectcherry.repository.InterestRepository;
+import com.perfectcherry.repository.UserAccountRepository;
+import com.perfectcherry.service.InterestService;
+
+/**
+ * Local-profile benchmark of interest mail, run at startup when
+ * mailbenchmark.events is above 0. Sends that many interests between active
+ * accounts through InterestService from mailbenchmark.requestThreads threads,
+ * waits for each mail to reach the LocalSmtpServer sink and logs messages/sec,
+ * p50/p99 latency from the interest commit to the sink, and the time the
+ * request threads spent in saveInterest, blocked and waiting. New interest
+ * mails are sent immediately for the run, accounts with a stored digest or off
+ * preference show up as missing. The interests are cancelled afterwards.
+ */
+@Component
+@Profile("local")
+public class MailThroughputBenchmark implements ApplicationRunner {
+
+	private Logger logger = LogManager.getLogger(MailThroughputBenchmark.class);
+
+	@Autowired
+	private MailBenchmarkConfigProperties mailBenchmarkConfigProperties;
+
+	@Autowired
+	private NotificationConfigProperties notificationConfigProperties;
+
+	@Autowired
+	private InterestService interestService;
+
+	@Autowired
+	private InterestRepository interestRepository;
+
+	@Autowired
+	private UserAccountRepository userAccountRepository;
+
+	@Autowired
+	private LocalSmtpServer localSmtpServer;
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		int events = mailBenchmarkConfigProperties.getEvents();
+		if (events <= 0) {
+			return;
+		}
+		int userCount = (int) Math.ceil(Math.sqrt(events)) * 2 + 2;
+		List<UserAccount> users = userAccountRepository.findActiveUsersWithEmail(PageRequest.of(0, userCount));
+		if (users.size() < 2) {
+			logger.info("Mail benchmark needs at least two active accounts with an email address");
+			return;
+		}
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if (threadMXBean.isThreadContentionMonitoringSupported()) {
+			threadMXBean.setThreadContentionMonitoringEnabled(true);
+		}
+		NotificationMode newInterestMode = notificationConfigProperties.getNewInterestMode();
+		notificationConfigProperties.setNewInterestMode(NotificationMode.IMMEDIATE);
+		ExecutorService requestThreads = Executors
+				.newFixedThreadPool(Math.max(1, mailBenchmarkConfigProperties.getRequestThreads()));
+		List<UserAccount[]> sent = new ArrayList<>();
+		try {
+			localSmtpServer.drainReceived();
+			long start = System.nanoTime();
+			List<Future<Sample>> futures = new ArrayList<>();
+			for (int i = 0; i < users.size() && futures.size() < events; i++) {
+				for (int j = 0; j < users.size() && futures.size() < events; j++) {
+					if (i != j) {
+						UserAccount sender = users.get(i);
+						UserAccount receiver = users.get(j);
+						futures.add(requestThreads.submit(() -> sendInterest(threadMXBean, sender, receiver)));
+					}
+				}
+			}
+			Map<String, Long> pending = new HashMap<>();
+			List<Sample> samples = new ArrayList<>();
+			for (Future<Sample> future : futures) {
+				Sample sample = get(future);
+				if (sample != null) {
+					samples.add(sample);
+					sent.add(new UserAccount[] { sample.sender, sample.receiver });
+					pending.put(key(sample.receiver.getEmailAddress(), String
+							.format(EmailConstants.INTEREST_SENT_SUBJECT, sample.sender.getUserName())),
+							sample.committedNanos);
+				}
+			}
+			Delivery delivery = awaitDelivery(pending);
+			report(start, samples, delivery, pending.size());
+		} finally {
+			requestThreads.shutdown();
+			notificationConfigProperties.setNewInterestMode(newInterestMode);
+			cancel(sent);
+		}
+	}
+
+	private Sample sendInterest(ThreadMXBean threadMXBean, UserAccount sender, UserAccount receiver) {
+		InterestDTO interestDTO = new InterestDTO();
+		interestDTO.setUserId(sender.getUserAccountId());
+		interestDTO.setInterestedOn(receiver.getUserAccountId());
+		ThreadInfo before = threadMXBean.getThreadInfo(Thread.currentThread().getId());
+		long started = System.nanoTime();
+		HttpStatus status = interestService.saveInterest(interestDTO).getStatusCode();
+		long committed = System.nanoTime();
+		ThreadInfo after = threadMXBean.getThreadInfo(Thread.currentThread().getId());
+		if (status != HttpStatus.OK) {
+			return null;
+		}
+		Sample sample = new Sample(sender, receiver, committed);
+		sample.requestNanos = committed - started;
+		if (before.getBlockedTime() >= 0) {
+			sample.blockedMillis = after.getBlockedTime() - before.getBlockedTime();
+			sample.waitedMillis = after.getWaitedTime() - before.getWaitedTime();
+		}
+		return sample;
+	}
+
+	/**
+	 * Matches sink arrivals to the pending mails by recipient and subject; what
+	 * is still pending at mailbenchmark.timeoutSeconds stays in the map.
+	 */
+	private Delivery awaitDelivery(Map<String, Long> pending) throws InterruptedException {
+		long[] latencies = new long[pending.size()];
+		int delivered = 0;
+		long lastReceivedNanos = 0;
+		long deadline = System.nanoTime()
+				+ TimeUnit.SECONDS.toNanos(mailBenchmarkConfigProperties.getTimeoutSeconds());
+		while (!pending.isEmpty() && System.nanoTime() < deadline) {
+			for (LocalSmtpServer.ReceivedMail mail : localSmtpServer.drainReceived()) {
+				for (String recipient : mail.getRecipients()) {
+					Long committed = pending.remove(key(recipient, mail.getSubject()));
+					if (committed != null) {
+						latencies[delivered++] = mail.getReceivedNanos() - committed;
+						lastReceivedNanos = Math.max(lastReceivedNanos, mail.getReceivedNanos());
+					}
+				}
+			}
+			Thread.sleep(50);
+		}
+		return new Delivery(Arrays.copyOf(latencies, delivered), lastReceivedNanos);
+	}
+
+	private void report(long start, List<Sample> samples, Delivery delivery, int missing) {
+		long[] latencies = delivery.latencies;
+		Arrays.sort(latencies);
+		long[] requests = samples.stream().mapToLong(sample -> sample.requestNanos).sorted().toArray();
+		double seconds = Math.max(1L, delivery.lastReceivedNanos - start) / 1e9;
+		logger.info(String.format(
+				"Mail benchmark: %s interests sent, %s mails delivered, %s missing in %.2f s - %.1f msgs/sec; "
+						+ "commit-to-delivery p50 %.1f ms, p99 %.1f ms; saveInterest p50 %.2f ms, p99 %.2f ms, "
+						+ "%.1f ms total; request threads blocked %s ms, waiting %s ms",
+				samples.size(), latencies.length, missing, seconds, latencies.length / seconds,
+				millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+				millis(percentile(requests, 0.50)), millis(percentile(requests, 0.99)),
+				millis(Arrays.stream(requests).sum()), samples.stream().mapToLong(sample -> sample.blockedMillis).sum(),
+				samples.stream().mapToLong(sample -> sample.waitedMillis).sum()));
+	}
+
+	private void cancel(List<UserAccount[]> sent) {
+		for (UserAccount[] pair : sent) {
+			Optional<Interest> interest = interestRepository.isInterestAlreadySent(pair[0].getUserAccountId(),
+					pair[1].getUserAccountId());
+			if (interest.isPresent()) {
+				interestService.cancelInterest(interest.get().getInterestId());
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Mail benchmark cancelled %s interests", sent.size()));
+		}
+	}
+
+	private Sample get(Future<Sample> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Mail benchmark interest failed : %s", e.getCause().toString()));
+			}
+			return null;
+		}
+	}
+
+	private static String key(String recipient, String subject) {
+		return recipient + '\n' + subject;
+	}
+
+	private static long percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+
+	private static final class Delivery {
+
+		private final long[] latencies;
+
+		private final long lastReceivedNanos;
+
+		private Delivery(long[] latencies, long lastReceivedNanos) {
+			this.latencies = latencies;
+			this.lastReceivedNanos = lastReceivedNanos;
+		}
+
+	}
+
+	private static final class Sample {
+
+		private final UserAccount sender;
+
+		private final UserAccount receiver;
+
+		private final long committedNanos;
+
+		private long requestNanos;
+
+		private long blockedMillis;
+
+		private long waitedMillis;
+
+		private Sample(UserAccount sender, UserAccount receiver, long committedNanos) {
+			this.sender = sender;
+			this.receiver = receiver;
+			this.committedNanos = committedNanos;
+		}
+
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.perfectcherry.mail;
+
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * A connected SMTP transport borrowed from SmtpTransportPool. Not thread
+ * safe; return it to the pool when done.
+ */
+public class PooledTransport {
+
+	private final Transport transport;
+
+	private long lastUsedMillis = System.currentTimeMillis();
+
+	private int messagesSent;
+
+	PooledTransport(Transport transport) {
+		this.transport = transport;
+	}
+
+	public void send(MimeMessage mimeMessage) throws MessagingException {
+		mimeMessage.saveChanges();
+		transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+		messagesSent++;
+		lastUsedMillis = System.currentTimeMillis();
+	}
+
+	/**
+	 * Asks the server with a NOOP whether the connection is still usable.
+	 */
+	public boolean isConnected() {
+		return transport.isConnected();
+	}
+
+	long getLastUsedMillis() {
+		return lastUsedMillis;
+	}
+
+	int getMessagesSent() {
+		return messagesSent;
+	}
+
+	void close() {
+		try {
+			transport.close();
+		} catch (MessagingException e) {
+			// the connection is being dropped anyway
+		}
+	}
+
+}
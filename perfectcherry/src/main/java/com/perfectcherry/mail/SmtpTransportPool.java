@@ -0,0 +1,136 @@
+package com.perfectcherry.mail;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.perfectcherry.configuration.properties.SmtpPoolConfigProperties;
+
+/**
+ * Keeps up to smtppool.maxConnections authenticated SMTP connections open so
+ * that mails do not pay for a TCP, STARTTLS and AUTH handshake each.
+ * Connections idle for more than smtppool.validateAfterSeconds are checked
+ * with a NOOP before reuse, idle ones are closed after smtppool.idleSeconds,
+ * and each is retired after smtppool.maxMessagesPerConnection mails.
+ */
+@Component
+public class SmtpTransportPool {
+
+	private Logger logger = LogManager.getLogger(SmtpTransportPool.class);
+
+	@Autowired
+	private JavaMailSenderImpl mailSender;
+
+	@Autowired
+	private SmtpPoolConfigProperties smtpPoolConfigProperties;
+
+	private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+
+	private Semaphore permits;
+
+	@PostConstruct
+	public void init() {
+		permits = new Semaphore(Math.max(1, smtpPoolConfigProperties.getMaxConnections()), true);
+	}
+
+	/**
+	 * A connected transport, reused when one is idle. Waits up to
+	 * smtppool.borrowTimeoutMillis when all connections are in use.
+	 */
+	public PooledTransport borrow() throws MessagingException {
+		try {
+			if (!permits.tryAcquire(smtpPoolConfigProperties.getBorrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+				throw new MessagingException("No SMTP connection available");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new MessagingException("Interrupted while waiting for an SMTP connection");
+		}
+		try {
+			long validateBefore = System.currentTimeMillis()
+					- TimeUnit.SECONDS.toMillis(smtpPoolConfigProperties.getValidateAfterSeconds());
+			PooledTransport transport;
+			while ((transport = idle.pollFirst()) != null) {
+				if (transport.getLastUsedMillis() >= validateBefore || transport.isConnected()) {
+					return transport;
+				}
+				transport.close();
+			}
+			return connect();
+		} catch (MessagingException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns a transport to the pool, or closes it when it is {@code broken}
+	 * or has sent its share of mails.
+	 */
+	public void release(PooledTransport transport, boolean broken) {
+		if (broken || transport.getMessagesSent() >= smtpPoolConfigProperties.getMaxMessagesPerConnection()) {
+			transport.close();
+		} else {
+			idle.offerFirst(transport);
+		}
+		permits.release();
+	}
+
+	@Scheduled(fixedDelayString = "${smtppool.evictMillis:30000}")
+	public void evictIdle() {
+		long idleBefore = System.currentTimeMillis()
+				- TimeUnit.SECONDS.toMillis(smtpPoolConfigProperties.getIdleSeconds());
+		List<PooledTransport> evicted = new ArrayList<>();
+		Iterator<PooledTransport> iterator = idle.descendingIterator();
+		while (iterator.hasNext()) {
+			PooledTransport transport = iterator.next();
+			if (transport.getLastUsedMillis() < idleBefore && idle.removeLastOccurrence(transport)) {
+				evicted.add(transport);
+			}
+		}
+		evicted.forEach(PooledTransport::close);
+		if (logger.isDebugEnabled() && !evicted.isEmpty()) {
+			logger.debug(String.format("Closed %s idle SMTP connections", evicted.size()));
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		PooledTransport transport;
+		while ((transport = idle.pollFirst()) != null) {
+			transport.close();
+		}
+	}
+
+	private PooledTransport connect() throws MessagingException {
+		Session session = mailSender.getSession();
+		String protocol = mailSender.getProtocol();
+		if (null == protocol) {
+			protocol = session.getProperty("mail.transport.protocol");
+		}
+		Transport transport = session.getTransport(null == protocol ? JavaMailSenderImpl.DEFAULT_PROTOCOL : protocol);
+		transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+				mailSender.getPassword());
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Opened SMTP connection to %s:%s", mailSender.getHost(), mailSender.getPort()));
+		}
+		return new PooledTransport(transport);
+	}
+
+}
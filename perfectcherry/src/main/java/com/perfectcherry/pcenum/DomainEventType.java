@@ -0,0 +1,8 @@
+package com.perfectcherry.pcenum;
+
+public enum DomainEventType {
+
+	INTEREST_SENT, INTEREST_ACCEPTED, INTEREST_DECLINED, INTEREST_CANCELLED, INTEREST_EXPIRED, INTEREST_ARCHIVED,
+	USER_ACCOUNT_UPDATED, USER_ACCOUNT_ACTIVATED, USER_ACCOUNT_DEACTIVATED, USER_DELETED;
+
+}
@@ -1,5 +1,7 @@
 package com.perfectcherry.pcenum;
 
+import com.fasterxml.jackson.annotation.JsonValue;
+
 public enum InterestEnum {
 	
 	A("A") {  //Name
@@ -21,13 +23,55 @@ public enum InterestEnum {
 		public String toString() {
 			return "Pending";
 		}
+	},
+
+	C("C") {
+		@Override
+		public String toString() {
+			return "Cancelled";
+		}
+	},
+
+	E("E") {
+		@Override
+		public String toString() {
+			return "Expired";
+		}
 	};
 
-	@SuppressWarnings("unused")
 	private final String code;
 
 	InterestEnum(String code) {
 		this.code = code;
 	}
 
+	/**
+	 * One-letter code stored in the status column.
+	 */
+	public String getCode() {
+		return code;
+	}
+
+	@JsonValue
+	public String getValue() {
+		return toString();
+	}
+
+	/**
+	 * Only a pending interest can be accepted, declined, cancelled or expired;
+	 * every other state is final.
+	 */
+	public boolean canTransitionTo(InterestEnum next) {
+		return this == P && next != P;
+	}
+
+	public static InterestEnum fromCode(String code) {
+		for (InterestEnum interestEnum : values()) {
+			if (interestEnum.code.equals(code)) {
+				return interestEnum;
+			}
+		}
+		throw new IllegalArgumentException(String.format("Unknown interest status code : %s", code));
+	}
+
 }
@@ -0,0 +1,22 @@
+package com.perfectcherry.pcenum;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores InterestEnum as its one-letter code in a CHAR(1) column.
+ */
+@Converter
+public class InterestEnumConverter implements AttributeConverter<InterestEnum, String> {
+
+	@Override
+	public String convertToDatabaseColumn(InterestEnum status) {
+		return status == null ? null : status.getCode();
+	}
+
+	@Override
+	public InterestEnum convertToEntityAttribute(String code) {
+		return code == null ? null : InterestEnum.fromCode(code);
+	}
+
+}
@@ -0,0 +1,10 @@
+package com.perfectcherry.pcenum;
+
+/**
+ * How a user wants to hear about one kind of interest event.
+ */
+public enum NotificationMode {
+
+	IMMEDIATE, DIGEST, OFF;
+
+}
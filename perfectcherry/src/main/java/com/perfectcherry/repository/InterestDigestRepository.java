@@ -0,0 +1,33 @@
+package com.perfectcherry.repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.perfectcherry.entity.InterestDigestEntry;
+
+@Repository
+public interface InterestDigestRepository extends JpaRepository<InterestDigestEntry, Long> {
+
+	/**
+	 * Recipients whose oldest held event is from before ?1 or who have at least
+	 * ?2 of them.
+	 */
+	@Query("SELECT recipientId FROM InterestDigestEntry GROUP BY recipientId "
+			+ "HAVING MIN(createdDate) <= ?1 OR COUNT(id) >= ?2 ORDER BY MIN(createdDate) ")
+	public List<Long> findDueRecipients(Date createdBefore, long minEvents, Pageable pageable);
+
+	@Query("FROM InterestDigestEntry WHERE recipientId = ?1 ORDER BY createdDate, id ")
+	public List<InterestDigestEntry> findByRecipient(Long recipientId);
+
+	@Modifying
+	@Query("DELETE FROM InterestDigestEntry WHERE id IN ?1 ")
+	public int deleteEntries(Collection<Long> ids);
+
+}
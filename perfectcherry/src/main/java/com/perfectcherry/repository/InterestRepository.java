@@ -1,38 +1,125 @@
 package com.perfectcherry.repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.perfectcherry.dto.InterestCardDTO;
+import com.perfectcherry.dto.InterestPair;
+import com.perfectcherry.dto.InterestStatusCount;
 import com.perfectcherry.entity.Interest;
+import com.perfectcherry.pcenum.InterestEnum;
 
 @Repository
-public interface InterestRepository extends JpaRepository<Interest, Long>{
+public interface InterestRepository extends JpaRepository<Interest, Long>, InterestRepositoryCustom {
 	
-	@Query("FROM Interest WHERE userId= ?1 AND status in ('Pending','Declined') ")
-	public List<Interest> interestSent(Long userId);
-	
-	@Query("FROM Interest WHERE interestedOn= ?1 AND status = 'Pending' ")
-	public List<Interest> interestReceived(Long userId);
-	
-	@Query("SELECT userId FROM Interest WHERE interestedOn= ?1 AND status = 'Accepted' ")
-	public List<Long> interestAcceptedByMe(Long userId);
-	
-	@Query("SELECT interestedOn FROM Interest WHERE userId= ?1 AND status = 'Accepted' ")
-	public List<Long> interestAcceptedByThem(Long userId);
-	
-	@Query("SELECT userId FROM Interest WHERE interestedOn= ?1 AND status = 'Declined' ")
-	public List<Long> interestDeclinedByMe(Long userId);
-	
-	@Query("SELECT interestedOn FROM Interest WHERE userId= ?1 AND status = 'Declined' ")
-	public List<Long> interestDeclinedByThem(Long userId);
+	/**
+	 * Cards joined to the counterpart account, shared by the inbox queries below.
+	 */
+	String INTEREST_CARD_SELECT = "SELECT new com.perfectcherry.dto.InterestCardDTO(i.interestId, i.status, "
+			+ "i.createdDate, i.updatedDate, ua.userAccountId, ua.userName, ua.pcId, img.imageURL) "
+			+ "FROM Interest i, UserAccount ua LEFT JOIN ua.image img ON img.isProfilePhoto = 'Y' ";
+
+	/**
+	 * Prefix of InterestEnum constants in queries; the converter turns them into
+	 * status codes.
+	 */
+	String STATUS = "com.perfectcherry.pcenum.InterestEnum.";
+
+	/**
+	 * Newest first, strictly after the (updatedDate, interestId) cursor in ?2
+	 * and ?3.
+	 */
+	String INTEREST_KEYSET = "AND (i.updatedDate < ?2 OR (i.updatedDate = ?2 AND i.interestId < ?3)) "
+			+ "ORDER BY i.updatedDate DESC, i.interestId DESC";
+
+	@Query(INTEREST_CARD_SELECT + "WHERE ua.userAccountId = i.interestedOn AND i.userId = ?1 "
+			+ "AND i.status IN (" + STATUS + "P, " + STATUS + "D) " + INTEREST_KEYSET)
+	public List<InterestCardDTO> interestSent(Long userId, Date updatedDate, Long interestId, Pageable pageable);
+
+	@Query(INTEREST_CARD_SELECT + "WHERE ua.userAccountId = i.userId AND i.interestedOn = ?1 "
+			+ "AND i.status = " + STATUS + "P " + INTEREST_KEYSET)
+	public List<InterestCardDTO> interestReceived(Long userId, Date updatedDate, Long interestId, Pageable pageable);
+
+	@Query(INTEREST_CARD_SELECT + "WHERE ua.userAccountId = i.userId AND i.interestedOn = ?1 "
+			+ "AND i.status = " + STATUS + "A " + INTEREST_KEYSET)
+	public List<InterestCardDTO> interestAcceptedByMe(Long userId, Date updatedDate, Long interestId,
+			Pageable pageable);
+
+	@Query(INTEREST_CARD_SELECT + "WHERE ua.userAccountId = i.interestedOn AND i.userId = ?1 "
+			+ "AND i.status = " + STATUS + "A " + INTEREST_KEYSET)
+	public List<InterestCardDTO> interestAcceptedByThem(Long userId, Date updatedDate, Long interestId,
+			Pageable pageable);
+
+	@Query(INTEREST_CARD_SELECT + "WHERE ua.userAccountId = i.userId AND i.interestedOn = ?1 "
+			+ "AND i.status = " + STATUS + "D " + INTEREST_KEYSET)
+	public List<InterestCardDTO> interestDeclinedByMe(Long userId, Date updatedDate, Long interestId,
+			Pageable pageable);
+
+	@Query(INTEREST_CARD_SELECT + "WHERE ua.userAccountId = i.interestedOn AND i.userId = ?1 "
+			+ "AND i.status = " + STATUS + "D " + INTEREST_KEYSET)
+	public List<InterestCardDTO> interestDeclinedByThem(Long userId, Date updatedDate, Long interestId,
+			Pageable pageable);
 	
 	@Query("FROM Interest WHERE userId= ?1 AND interestedOn = ?2 ")
 	public Optional<Interest> isInterestAlreadySent(Long userId, Long interestedOn);
-	
-	
+
+	/**
+	 * Moves the interest to a new status unless another request changed it since
+	 * it was read. Returns the number of rows updated, 0 or 1.
+	 */
+	@Modifying
+	@Query("UPDATE Interest SET status = ?3, updatedDate = ?4, version = version + 1 "
+			+ "WHERE interestId = ?1 AND status = ?2 AND version = ?5 ")
+	public int transitionInterest(Long interestId, InterestEnum fromStatus, InterestEnum toStatus,
+			Date updatedDate, Long version);
+
+	@Modifying
+	@Query("DELETE FROM Interest WHERE interestId = ?1 AND status = ?2 AND version = ?3 ")
+	public int deleteUnchangedInterest(Long interestId, InterestEnum status, Long version);
+
+	@Query("SELECT userId AS userId, status AS status, COUNT(interestId) AS total FROM Interest "
+			+ "GROUP BY userId, status ")
+	public List<InterestStatusCount> countSentByStatus();
+
+	@Query("SELECT interestedOn AS userId, status AS status, COUNT(interestId) AS total FROM Interest "
+			+ "GROUP BY interestedOn, status ")
+	public List<InterestStatusCount> countReceivedByStatus();
+
+	@Query("SELECT userId AS userId, status AS status, COUNT(interestId) AS total FROM Interest "
+			+ "WHERE userId = ?1 GROUP BY userId, status ")
+	public List<InterestStatusCount> countSentByStatus(Long userId);
+
+	@Query("SELECT interestedOn AS userId, status AS status, COUNT(interestId) AS total FROM Interest "
+			+ "WHERE interestedOn = ?1 GROUP BY interestedOn, status ")
+	public List<InterestStatusCount> countReceivedByStatus(Long userId);
+
+	@Query("FROM Interest WHERE status IN ?1 AND updatedDate < ?2 ORDER BY updatedDate, interestId ")
+	public List<Interest> findUpdatedBefore(Collection<InterestEnum> statuses, Date updatedDate, Pageable pageable);
+
+	@Modifying
+	@Query("UPDATE Interest SET status = " + STATUS + "E, updatedDate = ?2, version = version + 1 "
+			+ "WHERE interestId IN ?1 AND status = " + STATUS + "P ")
+	public int expireInterests(Collection<Long> interestIds, Date updatedDate);
+
+	@Query("SELECT interestId FROM Interest WHERE interestId IN ?1 AND status = " + STATUS + "E ")
+	public List<Long> findExpiredInterestIds(Collection<Long> interestIds);
+
+	@Query("SELECT CASE WHEN userId = ?1 THEN interestedOn ELSE userId END FROM Interest WHERE userId = ?1 OR interestedOn = ?1 ")
+	public List<Long> interactedUserIds(Long userId);
+
+	@Query("SELECT CASE WHEN userId = ?1 THEN interestedOn ELSE userId END FROM Interest "
+			+ "WHERE (userId = ?1 OR interestedOn = ?1) AND status = " + STATUS + "A ")
+	public List<Long> mutualMatchUserIds(Long userId);
+
+	@Query("SELECT userId AS userId, interestedOn AS interestedOn, status AS status FROM Interest ")
+	public List<InterestPair> findAllInterestPairs();
 
 }
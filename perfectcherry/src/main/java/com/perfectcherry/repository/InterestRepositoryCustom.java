@@ -0,0 +1,33 @@
+package com.perfectcherry.repository;
+
+import java.util.Collection;
+
+import com.perfectcherry.entity.Interest;
+
+public interface InterestRepositoryCustom {
+
+	/**
+	 * Next id from interest_seq, unique across all interests.
+	 */
+	public Long nextInterestId();
+
+	/**
+	 * Inserts the interest unless one already exists for its (userid,
+	 * interestedon) pair, in one statement. True when the row was created; any
+	 * other constraint violation is thrown.
+	 */
+	public boolean insertIfAbsent(Interest interest);
+
+	/**
+	 * Inserts every interest whose pair has no row yet in one JDBC batch;
+	 * duplicate pairs are left unchanged.
+	 */
+	public void insertAllIfAbsent(Collection<Interest> interests);
+
+	/**
+	 * Copies the interests into interest_archive and deletes them from
+	 * interest. Returns the number of rows deleted.
+	 */
+	public int archiveInterests(Collection<Long> interestIds);
+
+}
@@ -0,0 +1,103 @@
+package com.perfectcherry.repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.perfectcherry.entity.Interest;
+
+/**
+ * Interest writes in plain SQL. Inserts rely on the unique key on (userid,
+ * interestedon), so a repeated send is rejected by the database instead of a
+ * check-then-insert; archival moves rows with INSERT ... SELECT. Ids come from
+ * Hibernate's generator for Interest so they never collide.
+ */
+public class InterestRepositoryImpl implements InterestRepositoryCustom {
+
+	private static final String UNIQUE_PAIR_KEY = "uk_interest_userid_interestedon";
+
+	private static final String INSERT = "INSERT INTO interest "
+			+ "(interestid, userid, interestedon, status, created_date, updated_date, version) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String INSERT_IF_ABSENT = INSERT + " ON DUPLICATE KEY UPDATE interestid = interestid";
+
+	private static final String ARCHIVE = "INSERT IGNORE INTO interest_archive "
+			+ "(interestid, userid, interestedon, status, created_date, updated_date, version, archived_date) "
+			+ "SELECT interestid, userid, interestedon, status, created_date, updated_date, version, ? "
+			+ "FROM interest WHERE interestid IN (%s)";
+
+	private static final String DELETE_ARCHIVED = "DELETE FROM interest WHERE interestid IN (%s)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Long nextInterestId() {
+		SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+		IdentifierGenerator generator = session.getFactory().getMetamodel().entityPersister(Interest.class)
+				.getIdentifierGenerator();
+		return (Long) generator.generate(session, null);
+	}
+
+	@Override
+	public boolean insertIfAbsent(Interest interest) {
+		try {
+			return jdbcTemplate.update(INSERT, values(interest)) == 1;
+		} catch (DuplicateKeyException e) {
+			if (String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase().contains(UNIQUE_PAIR_KEY)) {
+				return false;
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public void insertAllIfAbsent(Collection<Interest> interests) {
+		if (interests.isEmpty()) {
+			return;
+		}
+		List<Object[]> batch = interests.stream().map(InterestRepositoryImpl::values).collect(Collectors.toList());
+		jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, batch);
+	}
+
+	@Override
+	public int archiveInterests(Collection<Long> interestIds) {
+		if (interestIds.isEmpty()) {
+			return 0;
+		}
+		String placeholders = String.join(", ", Collections.nCopies(interestIds.size(), "?"));
+		List<Object> values = new ArrayList<>(interestIds.size() + 1);
+		values.add(new Timestamp(System.currentTimeMillis()));
+		values.addAll(interestIds);
+		jdbcTemplate.update(String.format(ARCHIVE, placeholders), values.toArray());
+		return jdbcTemplate.update(String.format(DELETE_ARCHIVED, placeholders), interestIds.toArray());
+	}
+
+	private static Object[] values(Interest interest) {
+		return new Object[] { interest.getInterestId(), interest.getUserId(), interest.getInterestedOn(),
+				interest.getStatus().getCode(), timestamp(interest.getCreatedDate()), timestamp(interest.getUpdatedDate()),
+				interest.getVersion() };
+	}
+
+	private static Timestamp timestamp(Date date) {
+		return date == null ? null : new Timestamp(date.getTime());
+	}
+
+}
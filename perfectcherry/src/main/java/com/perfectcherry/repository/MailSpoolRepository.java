@@ -0,0 +1,62 @@
+package com.perfectcherry.repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.perfectcherry.entity.MailSpool;
+
+@Repository
+public interface MailSpoolRepository extends JpaRepository<MailSpool, Long> {
+
+	/**
+	 * Queued mails and mails whose sender claim has lapsed.
+	 */
+	@Query("SELECT id FROM MailSpool WHERE status IN ('N','S') AND nextAttemptAt <= ?1 ORDER BY nextAttemptAt, id ")
+	public List<Long> findDueIds(Date now, Pageable pageable);
+
+	/**
+	 * Token unique across senders and restarts, generated by MySQL.
+	 */
+	@Query(value = "SELECT UUID_SHORT()", nativeQuery = true)
+	public Number nextClaimToken();
+
+	/**
+	 * Claims the mails among {@code ids} that are still due for {@code claimToken}
+	 * until {@code claimedUntil}. Mails claimed by another sender meanwhile are
+	 * left alone.
+	 */
+	@Modifying
+	@Transactional
+	@Query("UPDATE MailSpool SET status = 'S', claimToken = ?2, nextAttemptAt = ?4 "
+			+ "WHERE id IN ?1 AND status IN ('N','S') AND nextAttemptAt <= ?3 ")
+	public int claim(Collection<Long> ids, Long claimToken, Date now, Date claimedUntil);
+
+	@Query("FROM MailSpool WHERE claimToken = ?1 AND status = 'S' ")
+	public List<MailSpool> findClaimed(Long claimToken);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE MailSpool SET status = 'D', attempts = attempts + 1, sentDate = ?3, mailContent = NULL, "
+			+ "htmlContent = NULL, lastError = NULL WHERE id IN ?1 AND claimToken = ?2 ")
+	public int markDelivered(Collection<Long> ids, Long claimToken, Date sentDate);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE MailSpool SET status = ?3, attempts = ?4, nextAttemptAt = ?5, lastError = ?6 "
+			+ "WHERE id = ?1 AND claimToken = ?2 ")
+	public int reschedule(Long id, Long claimToken, char status, int attempts, Date nextAttemptAt, String lastError);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM MailSpool WHERE status = 'D' AND sentDate < ?1 ")
+	public int deleteDeliveredBefore(Date sentDate);
+
+}
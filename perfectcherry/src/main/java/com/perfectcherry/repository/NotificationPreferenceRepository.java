@@ -0,0 +1,11 @@
+package com.perfectcherry.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.perfectcherry.entity.NotificationPreference;
+
+@Repository
+public interface NotificationPreferenceRepository extends JpaRepository<NotificationPreference, Long> {
+
+}
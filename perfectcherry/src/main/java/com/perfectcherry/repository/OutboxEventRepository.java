@@ -0,0 +1,57 @@
+package com.perfectcherry.repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.perfectcherry.entity.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	/**
+	 * Pending events and events whose relay claim has lapsed.
+	 */
+	@Query("SELECT id FROM OutboxEvent WHERE status IN ('N','S') AND nextAttemptAt <= ?1 ORDER BY createdDate, id ")
+	public List<Long> findDueIds(Date now, Pageable pageable);
+
+	/**
+	 * Token unique across relays and restarts, generated by MySQL.
+	 */
+	@Query(value = "SELECT UUID_SHORT()", nativeQuery = true)
+	public Number nextClaimToken();
+
+	/**
+	 * Claims the events among {@code ids} that are still due for
+	 * {@code claimToken} until {@code claimedUntil}. Events claimed by another
+	 * relay meanwhile are left alone.
+	 */
+	@Modifying
+	@Transactional
+	@Query("UPDATE OutboxEvent SET status = 'S', claimToken = ?2, nextAttemptAt = ?4 "
+			+ "WHERE id IN ?1 AND status IN ('N','S') AND nextAttemptAt <= ?3 ")
+	public int claim(Collection<Long> ids, Long claimToken, Date now, Date claimedUntil);
+
+	@Query("FROM OutboxEvent WHERE claimToken = ?1 AND status = 'S' ORDER BY createdDate, id ")
+	public List<OutboxEvent> findClaimed(Long claimToken);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM OutboxEvent WHERE id IN ?1 AND claimToken = ?2 ")
+	public int deleteDispatched(Collection<Long> ids, Long claimToken);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE OutboxEvent SET status = ?3, attempts = ?4, nextAttemptAt = ?5, lastError = ?6, handledBy = ?7 "
+			+ "WHERE id = ?1 AND claimToken = ?2 ")
+	public int reschedule(Long id, Long claimToken, char status, int attempts, Date nextAttemptAt, String lastError,
+			String handledBy);
+
+}
@@ -1,27 +1,92 @@
 package com.perfectcherry.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.perfectcherry.dto.DiscoveryCardDTO;
+import com.perfectcherry.dto.DiscoveryProfile;
+import com.perfectcherry.dto.NearbyUserAccount;
 import com.perfectcherry.entity.UserAccount;
+import com.perfectcherry.utility.GeoUtility;
 
 @Repository
 public interface UserAccountRepository extends JpaRepository<UserAccount, Long> {
 
+	/**
+	 * Distance in km from (:latitude, :longitude) to each account; the WHERE
+	 * clause is completed by a location predicate and/or NEARBY_FILTER.
+	 */
+	String NEARBY_SELECT = "SELECT ua.useraccountid AS userAccountId, "
+			+ "ST_Distance_Sphere(ua.location, ST_SRID(POINT(:latitude, :longitude), 4326), "
+			+ GeoUtility.EARTH_RADIUS_KM + " * 1000) / 1000 AS distance FROM useraccount ua WHERE ";
+
+	/**
+	 * Lets the spatial index on location prefilter rows; the bounding box is a
+	 * WKT polygon in SRID 4326.
+	 */
+	String NEARBY_BOUNDING_BOX = "MBRContains(ST_GeomFromText(:boundingBox, 4326), ua.location) AND ";
+
+	String NEARBY_FILTER = "ua.useraccountid <> :userid AND ua.status = 'A' AND ua.latitude IS NOT NULL "
+			+ "AND ua.longitude IS NOT NULL AND ua.gender = :gender AND ua.interestedin = :interestedIn "
+			+ "AND ST_Distance_Sphere(ua.location, ST_SRID(POINT(:latitude, :longitude), 4326), "
+			+ GeoUtility.EARTH_RADIUS_KM + " * 1000) <= :km * 1000 "
+			+ "AND NOT EXISTS (SELECT 1 FROM interest i WHERE i.userid = :userid AND i.interestedon = ua.useraccountid) "
+			+ "AND NOT EXISTS (SELECT 1 FROM interest i WHERE i.userid = ua.useraccountid AND i.interestedon = :userid) "
+			+ "ORDER BY distance, ua.useraccountid";
+
 	@Query("FROM UserAccount WHERE userAccountId= ?1 AND status = 'A' ")
 	public Optional<UserAccount> getActiveUser(Long userID);
 
 	@Query("FROM UserAccount WHERE userAccountId= ?1 AND status = 'O' ")
 	public Optional<UserAccount> getObsoleteUser(Long userID);
 
-	@Query(value = "CALL FindPeopleNearMe(:userid,:latitude,:longitude,:withinRange);", nativeQuery = true)
-	public List<UserAccount> findPeopleNearMe(@Param("userid") Long userID, @Param("latitude") BigDecimal latitude,
-			@Param("longitude") BigDecimal longitude, @Param("withinRange") int km);
+	@Query("SELECT userAccountId FROM UserAccount WHERE userAccountId IN ?1 AND status = 'A' ")
+	public List<Long> findActiveUserAccountIds(Collection<Long> userAccountIds);
+
+	@Query("FROM UserAccount WHERE status = 'A' AND emailAddress IS NOT NULL ORDER BY userAccountId ")
+	public List<UserAccount> findActiveUsersWithEmail(Pageable pageable);
+
+	/**
+	 * Active accounts of the given gender interested in the given gender within
+	 * km of a position, nearest first, without accounts the user has an interest
+	 * row with either way. The bounding box from GeoUtility.boundingBoxWkt must
+	 * enclose the circle; it is a separate query from
+	 * findPeopleWithinKmUnbounded because an OR with a parameter test keeps the
+	 * optimizer off the spatial index. Needs the location column from
+	 * UserAccountLocation.txt.
+	 */
+	@Query(value = NEARBY_SELECT + NEARBY_BOUNDING_BOX + NEARBY_FILTER, nativeQuery = true)
+	public List<NearbyUserAccount> findPeopleWithinKm(@Param("userid") Long userID,
+			@Param("latitude") BigDecimal latitude, @Param("longitude") BigDecimal longitude,
+			@Param("km") double km, @Param("boundingBox") String boundingBox, @Param("gender") String gender,
+			@Param("interestedIn") String interestedIn);
+
+	/**
+	 * findPeopleWithinKm for circles no bounding box can describe, i.e. ones
+	 * crossing a pole or the antimeridian; scans every account.
+	 */
+	@Query(value = NEARBY_SELECT + NEARBY_FILTER, nativeQuery = true)
+	public List<NearbyUserAccount> findPeopleWithinKmUnbounded(@Param("userid") Long userID,
+			@Param("latitude") BigDecimal latitude, @Param("longitude") BigDecimal longitude,
+			@Param("km") double km, @Param("gender") String gender, @Param("interestedIn") String interestedIn);
+
+	@Query("SELECT userAccountId AS userAccountId, latitude AS latitude, longitude AS longitude, gender AS gender, "
+			+ "interestedIn AS interestedIn, sexualOrientation AS sexualOrientation, dob AS dob, education AS education, "
+			+ "livingIn AS livingIn, jobTitle AS jobTitle, updatedDate AS updatedDate FROM UserAccount "
+			+ "WHERE status = 'A' AND latitude IS NOT NULL AND longitude IS NOT NULL ")
+	public List<DiscoveryProfile> findActiveDiscoveryProfiles();
+
+	@Query("SELECT new com.perfectcherry.dto.DiscoveryCardDTO(ua.userAccountId, ua.pcId, ua.userName, ua.gender, "
+			+ "ua.dob, ua.livingIn, ua.jobTitle, img.imageURL) FROM UserAccount ua "
+			+ "LEFT JOIN ua.image img ON img.isProfilePhoto = 'Y' WHERE ua.userAccountId IN ?1 ")
+	public List<DiscoveryCardDTO> findDiscoveryCards(Collection<Long> userAccountIds);
 
 }
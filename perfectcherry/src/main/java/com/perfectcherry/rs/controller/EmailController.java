@@ -1,10 +1,47 @@
 package com.perfectcherry.rs.controller;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.perfectcherry.dto.NotificationPreferenceDTO;
+import com.perfectcherry.dto.ResponseDTO;
+import com.perfectcherry.service.PCEmailService;
+
 @RestController
 @RequestMapping("email/")
 public class EmailController {
 
+	private Logger logger = LogManager.getLogger(EmailController.class);
+
+	@Autowired
+	private PCEmailService pcEmailService;
+
+	@GetMapping("notificationPreference/{userId}")
+	@PreAuthorize("hasRole('ROLE_USER')")
+	public NotificationPreferenceDTO getNotificationPreference(@PathVariable Long userId) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Inside getNotificationPreference method");
+		}
+		return pcEmailService.getNotificationPreference(userId);
+	}
+
+	@PutMapping("notificationPreference")
+	@PreAuthorize("hasRole('ROLE_USER')")
+	public ResponseEntity<ResponseDTO> saveNotificationPreference(
+			@RequestBody NotificationPreferenceDTO notificationPreferenceDTO) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Inside saveNotificationPreference method");
+		}
+		return pcEmailService.saveNotificationPreference(notificationPreferenceDTO);
+	}
+
 }
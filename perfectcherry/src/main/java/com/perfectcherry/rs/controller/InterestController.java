@@ -13,12 +13,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.perfectcherry.dto.DiscoveryCardDTO;
+import com.perfectcherry.dto.InterestCountsDTO;
 import com.perfectcherry.dto.InterestDTO;
 import com.perfectcherry.dto.InterestOutBean;
+import com.perfectcherry.dto.InterestResultDTO;
 import com.perfectcherry.dto.ResponseDTO;
-import com.perfectcherry.entity.UserAccount;
 import com.perfectcherry.service.InterestService;
 
 @RestController
@@ -39,6 +42,15 @@ public class InterestController {
 		return interestService.saveInterest(interestDTO);
 	}
 
+	@PostMapping("sendInterests")
+	@PreAuthorize("hasRole('ROLE_USER')")
+	public ResponseEntity<List<InterestResultDTO>> sendInterests(@RequestBody List<InterestDTO> interestDTOs) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Inside sendInterests method");
+		}
+		return interestService.saveInterests(interestDTOs);
+	}
+
 	@PatchMapping("acceptInterest/{interestID}")
 	@PreAuthorize("hasRole('ROLE_USER')")
 	public ResponseEntity<ResponseDTO> acceptInterest(@PathVariable Long interestID) {
@@ -59,11 +71,12 @@ public class InterestController {
 
 	@GetMapping("interestSent/{userId}")
 	@PreAuthorize("hasRole('ROLE_USER')")
-	public InterestOutBean interestSent(@PathVariable Long userId) {
+	public InterestOutBean interestSent(@PathVariable Long userId,
+			@RequestParam(required = false) Integer pageSize, @RequestParam(required = false) String cursor) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Inside interestSent method");
 		}
-		return interestService.interestSent(userId);
+		return interestService.interestSent(userId, pageSize, cursor);
 	}
 	
 	@PatchMapping("cancelInterest/{interestID}")
@@ -77,47 +90,88 @@ public class InterestController {
 
 	@GetMapping("interestReceived/{userId}")
 	@PreAuthorize("hasRole('ROLE_USER')")
-	public InterestOutBean interestReceived(@PathVariable Long userId) {
+	public InterestOutBean interestReceived(@PathVariable Long userId,
+			@RequestParam(required = false) Integer pageSize, @RequestParam(required = false) String cursor) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Inside interestReceived method");
 		}
-		return interestService.interestReceived(userId);
+		return interestService.interestReceived(userId, pageSize, cursor);
 	}
 
 	@GetMapping("interestAcceptedByMe/{userId}")
 	@PreAuthorize("hasRole('ROLE_USER')")
-	public List<UserAccount> interestAcceptedByMe(@PathVariable Long userId) {
+	public InterestOutBean interestAcceptedByMe(@PathVariable Long userId,
+			@RequestParam(required = false) Integer pageSize, @RequestParam(required = false) String cursor) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Inside interestAcceptedByMe method");
 		}
-		return interestService.interestAcceptedByMe(userId);
+		return interestService.interestAcceptedByMe(userId, pageSize, cursor);
 	}
 
 	@GetMapping("interestAcceptedByThem/{userId}")
 	@PreAuthorize("hasRole('ROLE_USER')")
-	public List<UserAccount> interestAcceptedByThem(@PathVariable Long userId) {
+	public InterestOutBean interestAcceptedByThem(@PathVariable Long userId,
+			@RequestParam(required = false) Integer pageSize, @RequestParam(required = false) String cursor) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Inside interestAcceptedByThem method");
 		}
-		return interestService.interestAcceptedByThem(userId);
+		return interestService.interestAcceptedByThem(userId, pageSize, cursor);
 	}
 
 	@GetMapping("interestDeclinedByMe/{userId}")
 	@PreAuthorize("hasRole('ROLE_USER')")
-	public List<UserAccount> interestDeclinedByMe(@PathVariable Long userId) {
+	public InterestOutBean interestDeclinedByMe(@PathVariable Long userId,
+			@RequestParam(required = false) Integer pageSize, @RequestParam(required = false) String cursor) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Inside interestDeclinedByMe method");
 		}
-		return interestService.interestDeclinedByMe(userId);
+		return interestService.interestDeclinedByMe(userId, pageSize, cursor);
 	}
 
 	@GetMapping("interestDeclinedByThem/{userId}")
 	@PreAuthorize("hasRole('ROLE_USER')")
-	public List<UserAccount> interestDeclinedByThem(@PathVariable Long userId) {
+	public InterestOutBean interestDeclinedByThem(@PathVariable Long userId,
+			@RequestParam(required = false) Integer pageSize, @RequestParam(required = false) String cursor) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Inside interestDeclinedByThem method");
 		}
-		return interestService.interestDeclinedByThem(userId);
+		return interestService.interestDeclinedByThem(userId, pageSize, cursor);
+	}
+
+	@GetMapping("mutualMatches/{userId}")
+	@PreAuthorize("hasRole('ROLE_USER')")
+	public List<DiscoveryCardDTO> mutualMatches(@PathVariable Long userId) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Inside mutualMatches method");
+		}
+		return interestService.mutualMatches(userId);
+	}
+
+	@GetMapping("isMutualMatch/{userId}/{otherUserId}")
+	@PreAuthorize("hasRole('ROLE_USER')")
+	public boolean isMutualMatch(@PathVariable Long userId, @PathVariable Long otherUserId) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Inside isMutualMatch method");
+		}
+		return interestService.isMutualMatch(userId, otherUserId);
+	}
+
+	@GetMapping("isPendingEitherWay/{userId}/{otherUserId}")
+	@PreAuthorize("hasRole('ROLE_USER')")
+	public boolean isPendingEitherWay(@PathVariable Long userId, @PathVariable Long otherUserId) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Inside isPendingEitherWay method");
+		}
+		return interestService.isPendingEitherWay(userId, otherUserId);
+	}
+
+	@GetMapping("counts/{userId}")
+	@PreAuthorize("hasRole('ROLE_USER')")
+	public InterestCountsDTO interestCounts(@PathVariable Long userId) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Inside interestCounts method");
+		}
+		return interestService.interestCounts(userId);
 	}
 
 }
@@ -13,8 +13,11 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.perfectcherry.dto.DiscoveryCardDTO;
+import com.perfectcherry.dto.DiscoveryPageDTO;
 import com.perfectcherry.dto.ResponseDTO;
 import com.perfectcherry.dto.UserAccountDTO;
 import com.perfectcherry.entity.UserAccount;
@@ -84,6 +87,36 @@ public class UserAccountController {
 		}
 		return userAccountService.findPeopleNearMe();
 	}
+
+	@GetMapping("discover")
+	@PreAuthorize("hasRole('ROLE_USER')")
+	public DiscoveryPageDTO discover(@RequestParam(required = false) Integer pageSize,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer minAge,
+			@RequestParam(required = false) Integer maxAge,
+			@RequestParam(required = false) List<String> sexualOrientation) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Inside discover method");
+		}
+		return userAccountService.discover(pageSize, cursor, minAge, maxAge, sexualOrientation);
+	}
+
+	@GetMapping("discoveryFeed")
+	@PreAuthorize("hasRole('ROLE_USER')")
+	public DiscoveryPageDTO discoveryFeed(@RequestParam(required = false) Integer pageSize) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Inside discoveryFeed method");
+		}
+		return userAccountService.discoveryFeed(pageSize);
+	}
+
+	@GetMapping("nearestMatches")
+	@PreAuthorize("hasRole('ROLE_USER')")
+	public List<DiscoveryCardDTO> findNearestMatches(@RequestParam(required = false) Integer count) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Inside findNearestMatches method");
+		}
+		return userAccountService.findNearestMatches(count);
+	}
 	
 	@PatchMapping("deactivate")
 	@PreAuthorize("hasRole('ROLE_USER')")
@@ -4,32 +4,43 @@ import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 
+import com.perfectcherry.dto.DiscoveryCardDTO;
+import com.perfectcherry.dto.InterestCountsDTO;
 import com.perfectcherry.dto.InterestDTO;
 import com.perfectcherry.dto.InterestOutBean;
+import com.perfectcherry.dto.InterestResultDTO;
 import com.perfectcherry.dto.ResponseDTO;
-import com.perfectcherry.entity.UserAccount;
 
 public interface InterestService {
 	
 	public ResponseEntity<ResponseDTO> saveInterest(InterestDTO interestDTO);
 
+	public ResponseEntity<List<InterestResultDTO>> saveInterests(List<InterestDTO> interestDTOs);
+
 	public ResponseEntity<ResponseDTO> acceptInterest(Long interestID);
 
 	public ResponseEntity<ResponseDTO> declineInterest(Long interestID);
 	
 	public ResponseEntity<ResponseDTO> cancelInterest(Long interestID);
 	
-	public InterestOutBean interestSent(Long userId);
+	public InterestOutBean interestSent(Long userId, Integer pageSize, String cursor);
 
-	public InterestOutBean interestReceived(Long userId);
+	public InterestOutBean interestReceived(Long userId, Integer pageSize, String cursor);
 	
-	public List<UserAccount> interestAcceptedByMe(Long userId);
+	public InterestOutBean interestAcceptedByMe(Long userId, Integer pageSize, String cursor);
 	
-	public List<UserAccount> interestAcceptedByThem(Long userId);
+	public InterestOutBean interestAcceptedByThem(Long userId, Integer pageSize, String cursor);
 
-	public List<UserAccount> interestDeclinedByMe(Long userId);
+	public InterestOutBean interestDeclinedByMe(Long userId, Integer pageSize, String cursor);
 	
-	public List<UserAccount> interestDeclinedByThem(Long userId);
+	public InterestOutBean interestDeclinedByThem(Long userId, Integer pageSize, String cursor);
+
+	public List<DiscoveryCardDTO> mutualMatches(Long userId);
+
+	public boolean isMutualMatch(Long userId, Long otherUserId);
+
+	public boolean isPendingEitherWay(Long userId, Long otherUserId);
+
+	public InterestCountsDTO interestCounts(Long userId);
 
-	
 }
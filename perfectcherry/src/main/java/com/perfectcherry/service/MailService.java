@@ -1,10 +1,28 @@
 package com.perfectcherry.service;
 
+import java.util.List;
+
 import com.perfectcherry.dto.MailDTO;
 import com.perfectcherry.exception.PerfectCherryException;
 
 public interface MailService {
 	
+	/**
+	 * Queues the mail in the spool, within the caller's transaction when there
+	 * is one. The mail is sent later by MailSpoolWorker.
+	 */
 	public void sendMail(MailDTO mailDTO) throws PerfectCherryException;
 
+	/**
+	 * Sends the mail over SMTP on the calling thread.
+	 */
+	public void deliverMail(MailDTO mailDTO) throws PerfectCherryException;
+
+	/**
+	 * Sends the mails over SMTP on the calling thread, reusing one pooled
+	 * connection. Element i of the result is the failure of mail i, or null
+	 * when it was sent.
+	 */
+	public List<PerfectCherryException> deliverMails(List<MailDTO> mailDTOs);
+
 }
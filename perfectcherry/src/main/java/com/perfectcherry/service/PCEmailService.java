@@ -1,8 +1,14 @@
 package com.perfectcherry.service;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 
+import com.perfectcherry.dto.NotificationPreferenceDTO;
 import com.perfectcherry.dto.ResponseDTO;
+import com.perfectcherry.entity.InterestDigestEntry;
+import com.perfectcherry.pcenum.DomainEventType;
+import com.perfectcherry.pcenum.NotificationMode;
 
 public interface PCEmailService {
 	
@@ -12,4 +18,19 @@ public interface PCEmailService {
 
 	public ResponseEntity<ResponseDTO> sendInterestMail(Long userId, Long interestedOn, String action);
 
+	/**
+	 * One summary mail to {@code userId} for the held interest events.
+	 */
+	public ResponseEntity<ResponseDTO> sendInterestDigest(Long userId, List<InterestDigestEntry> entries);
+
+	/**
+	 * The user's mode for {@code type}, falling back to the notification.*
+	 * defaults.
+	 */
+	public NotificationMode notificationMode(Long userId, DomainEventType type);
+
+	public NotificationPreferenceDTO getNotificationPreference(Long userId);
+
+	public ResponseEntity<ResponseDTO> saveNotificationPreference(NotificationPreferenceDTO notificationPreferenceDTO);
+
 }
@@ -4,6 +4,8 @@ import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 
+import com.perfectcherry.dto.DiscoveryCardDTO;
+import com.perfectcherry.dto.DiscoveryPageDTO;
 import com.perfectcherry.dto.ResponseDTO;
 import com.perfectcherry.dto.UserAccountDTO;
 import com.perfectcherry.entity.UserAccount;
@@ -22,4 +24,11 @@ public interface UserAccountService {
 
 	public List<UserAccount> findPeopleNearMe();
 
+	public DiscoveryPageDTO discover(Integer pageSize, String cursor, Integer minAge, Integer maxAge,
+			List<String> sexualOrientations);
+
+	public DiscoveryPageDTO discoveryFeed(Integer pageSize);
+
+	public List<DiscoveryCardDTO> findNearestMatches(Integer count);
+
 }
@@ -1,13 +1,24 @@
 package com.perfectcherry.serviceimpl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,17 +27,25 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.perfectcherry.constant.InterestConstants;
 import com.perfectcherry.constant.RegistrationConstants;
-import com.perfectcherry.dto.InterestBean;
+import com.perfectcherry.dto.DiscoveryCardDTO;
+import com.perfectcherry.dto.InterestCardDTO;
+import com.perfectcherry.dto.InterestCountsDTO;
 import com.perfectcherry.dto.InterestDTO;
 import com.perfectcherry.dto.InterestOutBean;
+import com.perfectcherry.dto.InterestResultDTO;
 import com.perfectcherry.dto.ResponseDTO;
 import com.perfectcherry.entity.Interest;
 import com.perfectcherry.entity.UserAccount;
+import com.perfectcherry.event.DomainEvent;
+import com.perfectcherry.event.DomainEventPublisher;
+import com.perfectcherry.interest.InterestCounters;
+import com.perfectcherry.interest.InterestCursor;
+import com.perfectcherry.interest.InterestGraph;
+import com.perfectcherry.pcenum.DomainEventType;
 import com.perfectcherry.pcenum.InterestEnum;
 import com.perfectcherry.repository.InterestRepository;
 import com.perfectcherry.repository.UserAccountRepository;
 import com.perfectcherry.service.InterestService;
-import com.perfectcherry.service.PCEmailService;
 import com.perfectcherry.utility.RegistrationUtility;
 
 @Service
@@ -42,7 +61,13 @@ public class InterestServiceImpl implements InterestService {
 	private UserAccountRepository userAccountRepository;
 
 	@Autowired
-	private PCEmailService pcEmailService;
+	private InterestGraph interestGraph;
+
+	@Autowired
+	private InterestCounters interestCounters;
+
+	@Autowired
+	private DomainEventPublisher domainEventPublisher;
 
 	@Override
 	@Modifying
@@ -51,12 +76,16 @@ public class InterestServiceImpl implements InterestService {
 		if (logger.isDebugEnabled()) {
 			logger.debug(String.format("Save interest with request data : %s", interestDTO.toString()));
 		}
-		if (RegistrationUtility.validateInterestDTO(interestDTO) && validateUserByID(interestDTO)
-				&& !isInterestAlreadySent(interestDTO)) {
-			Interest interest = fillInterestDetails(interestDTO);
-			interestRepository.save(interest);
-			pcEmailService.sendInterestMail(interestDTO.getUserId(), interestDTO.getInterestedOn(),
-					InterestConstants.NEW);
+		Interest interest = null;
+		if (RegistrationUtility.validateInterestDTO(interestDTO) && validateUserByID(interestDTO)) {
+			interest = fillInterestDetails(interestDTO);
+			if (!interestRepository.insertIfAbsent(interest)) {
+				interestDTO.setErrorMessage(RegistrationConstants.INTEREST_ALREADY_SENT_MESSAGE);
+				interest = null;
+			}
+		}
+		if (interest != null) {
+			domainEventPublisher.publish(DomainEvent.of(DomainEventType.INTEREST_SENT, interest));
 			if (logger.isDebugEnabled()) {
 				logger.debug(String.format("Interest Sent : %s", interestDTO.toString()));
 			}
@@ -71,6 +100,92 @@ public class InterestServiceImpl implements InterestService {
 		}
 	}
 
+	/**
+	 * Sends many interests at once: account states are read with one query, the
+	 * rows are inserted in JDBC batches skipping existing pairs, and one more
+	 * query tells which of them were created - a row counts only when its id,
+	 * sender and receiver all match.
+	 */
+	@Override
+	@Modifying
+	@Transactional
+	public ResponseEntity<List<InterestResultDTO>> saveInterests(List<InterestDTO> interestDTOs) {
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Save %s interests", interestDTOs == null ? 0 : interestDTOs.size()));
+		}
+		if (interestDTOs == null || interestDTOs.isEmpty() || interestDTOs.size() > InterestConstants.MAX_BATCH_SIZE) {
+			return new ResponseEntity<>(Collections.singletonList(new InterestResultDTO(null, null, null,
+					HttpStatus.BAD_REQUEST.value(), InterestConstants.INVALID_BATCH_MESSAGE)), HttpStatus.BAD_REQUEST);
+		}
+		boolean[] valid = new boolean[interestDTOs.size()];
+		Set<Long> userIds = new HashSet<>();
+		Set<Long> interestedOnIds = new HashSet<>();
+		for (int i = 0; i < valid.length; i++) {
+			InterestDTO interestDTO = interestDTOs.get(i);
+			valid[i] = RegistrationUtility.validateInterestDTO(interestDTO);
+			if (valid[i]) {
+				userIds.add(interestDTO.getUserId());
+				interestedOnIds.add(interestDTO.getInterestedOn());
+			}
+		}
+		Set<Long> activeUserIds = new HashSet<>();
+		if (!userIds.isEmpty()) {
+			Set<Long> allUserIds = new HashSet<>(userIds);
+			allUserIds.addAll(interestedOnIds);
+			activeUserIds.addAll(userAccountRepository.findActiveUserAccountIds(allUserIds));
+		}
+
+		List<InterestResultDTO> results = new ArrayList<>(interestDTOs.size());
+		List<Interest> interests = new ArrayList<>();
+		Map<Long, Set<Long>> sentByUserId = new HashMap<>();
+		for (int i = 0; i < valid.length; i++) {
+			InterestDTO interestDTO = interestDTOs.get(i);
+			if (valid[i] && validateUserByID(interestDTO, activeUserIds::contains)) {
+				Long userId = interestDTO.getUserId();
+				Long interestedOn = interestDTO.getInterestedOn();
+				boolean alreadySent = interestGraph.isReady() && interestGraph.hasSent(userId, interestedOn);
+				if (!alreadySent && sentByUserId.computeIfAbsent(userId, key -> new HashSet<>()).add(interestedOn)) {
+					Interest interest = fillInterestDetails(interestDTO);
+					interests.add(interest);
+					results.add(new InterestResultDTO(userId, interestedOn, interest.getInterestId(),
+							HttpStatus.OK.value(), RegistrationConstants.INTEREST_SENT));
+					continue;
+				}
+				interestDTO.setErrorMessage(RegistrationConstants.INTEREST_ALREADY_SENT_MESSAGE);
+			}
+			results.add(new InterestResultDTO(interestDTO.getUserId(), interestDTO.getInterestedOn(), null,
+					HttpStatus.BAD_REQUEST.value(), interestDTO.getErrorMessage()));
+		}
+
+		interestRepository.insertAllIfAbsent(interests);
+		if (!interests.isEmpty()) {
+			Set<Long> createdIds = new HashSet<>();
+			Map<Long, Interest> insertedById = interests.stream()
+					.collect(Collectors.toMap(Interest::getInterestId, interest -> interest));
+			for (Interest stored : interestRepository.findAllById(insertedById.keySet())) {
+				Interest inserted = insertedById.get(stored.getInterestId());
+				if (inserted.getUserId().equals(stored.getUserId())
+						&& inserted.getInterestedOn().equals(stored.getInterestedOn())) {
+					createdIds.add(stored.getInterestId());
+				}
+			}
+			interests.removeIf(interest -> !createdIds.contains(interest.getInterestId()));
+			for (int i = 0; i < results.size(); i++) {
+				InterestResultDTO result = results.get(i);
+				if (result.getInterestId() != null && !createdIds.contains(result.getInterestId())) {
+					results.set(i, new InterestResultDTO(result.getUserId(), result.getInterestedOn(), null,
+							HttpStatus.BAD_REQUEST.value(), RegistrationConstants.INTEREST_ALREADY_SENT_MESSAGE));
+				}
+			}
+		}
+		domainEventPublisher.publishAll(interests.stream()
+				.map(interest -> DomainEvent.of(DomainEventType.INTEREST_SENT, interest)).collect(Collectors.toList()));
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Interests sent : %s of %s", interests.size(), interestDTOs.size()));
+		}
+		return new ResponseEntity<>(results, HttpStatus.OK);
+	}
+
 	@Override
 	@Modifying
 	@Transactional
@@ -81,10 +196,12 @@ public class InterestServiceImpl implements InterestService {
 		if (null != interestID && interestID > 0) {
 			Optional<Interest> interestOptional = interestRepository.findById(interestID);
 			if (interestOptional.isPresent()) {
-				Interest interest = fillInterestEntity(interestOptional.get(), InterestEnum.A.toString());
-				interestRepository.save(interest);
-				pcEmailService.sendInterestMail(interest.getUserId(), interest.getInterestedOn(),
-						InterestConstants.ACCEPT);
+				Interest interest = interestOptional.get();
+				String errorMessage = transitionInterest(interest, InterestEnum.A);
+				if (errorMessage != null) {
+					return RegistrationUtility.fillResponseEntity(errorMessage, HttpStatus.CONFLICT);
+				}
+				domainEventPublisher.publish(DomainEvent.of(DomainEventType.INTEREST_ACCEPTED, interest));
 				if (logger.isDebugEnabled()) {
 					logger.debug(String.format("Interest accepted : %s", interestID));
 				}
@@ -115,10 +232,12 @@ public class InterestServiceImpl implements InterestService {
 		if (null != interestID && interestID > 0) {
 			Optional<Interest> interestOptional = interestRepository.findById(interestID);
 			if (interestOptional.isPresent()) {
-				Interest interest = fillInterestEntity(interestOptional.get(), InterestEnum.D.toString());
-				interestRepository.save(interest);
-				pcEmailService.sendInterestMail(interest.getUserId(), interest.getInterestedOn(),
-						InterestConstants.DECLINE);
+				Interest interest = interestOptional.get();
+				String errorMessage = transitionInterest(interest, InterestEnum.D);
+				if (errorMessage != null) {
+					return RegistrationUtility.fillResponseEntity(errorMessage, HttpStatus.CONFLICT);
+				}
+				domainEventPublisher.publish(DomainEvent.of(DomainEventType.INTEREST_DECLINED, interest));
 				if (logger.isDebugEnabled()) {
 					logger.debug(String.format("Interest Declined : %s", interestID));
 				}
@@ -149,7 +268,12 @@ public class InterestServiceImpl implements InterestService {
 		if (null != interestID && interestID > 0) {
 			Optional<Interest> interestOptional = interestRepository.findById(interestID);
 			if (interestOptional.isPresent()) {
-				interestRepository.deleteById(interestID);
+				Interest interest = interestOptional.get();
+				String errorMessage = transitionInterest(interest, InterestEnum.C);
+				if (errorMessage != null) {
+					return RegistrationUtility.fillResponseEntity(errorMessage, HttpStatus.CONFLICT);
+				}
+				domainEventPublisher.publish(DomainEvent.of(DomainEventType.INTEREST_CANCELLED, interest));
 				if (logger.isDebugEnabled()) {
 					logger.debug(String.format("Interest canceled : %s", interestID));
 				}
@@ -172,77 +296,165 @@ public class InterestServiceImpl implements InterestService {
 	}
 
 	@Override
-	public InterestOutBean interestSent(Long userId) {
+	public InterestOutBean interestSent(Long userId, Integer pageSize, String cursor) {
 		if (logger.isDebugEnabled()) {
-			logger.debug(String.format("Interests sent by userID : %s", userId));
+			logger.debug(String.format("Interests sent by userID : %s, pageSize : %s", userId, pageSize));
 		}
-		InterestOutBean interestOutBean = new InterestOutBean();
-		List<InterestBean> interests = new ArrayList<>();
-		List<Interest> interestList = interestRepository.interestSent(userId);
-		interestList.forEach(interest -> interests
-				.add(new InterestBean(interest, userAccountRepository.findById(interest.getInterestedOn()).get())));
-		interestOutBean.setInterests(interests);
-		return interestOutBean;
+		return interestPage(pageSize, cursor, (updatedDate, interestId, pageable) -> interestRepository
+				.interestSent(userId, updatedDate, interestId, pageable));
 	}
 
 	@Override
-	public InterestOutBean interestReceived(Long userId) {
+	public InterestOutBean interestReceived(Long userId, Integer pageSize, String cursor) {
 		if (logger.isDebugEnabled()) {
-			logger.debug(String.format("Interests received by userID : %s", userId));
+			logger.debug(String.format("Interests received by userID : %s, pageSize : %s", userId, pageSize));
 		}
-		InterestOutBean interestOutBean = new InterestOutBean();
-		List<InterestBean> interests = new ArrayList<>();
-		List<Interest> interestList = interestRepository.interestReceived(userId);
-		interestList.forEach(interest -> interests
-				.add(new InterestBean(interest, userAccountRepository.findById(interest.getUserId()).get())));
-		interestOutBean.setInterests(interests);
-		return interestOutBean;
+		return interestPage(pageSize, cursor, (updatedDate, interestId, pageable) -> interestRepository
+				.interestReceived(userId, updatedDate, interestId, pageable));
 	}
 
 	@Override
-	public List<UserAccount> interestAcceptedByMe(Long userId) {
+	public InterestOutBean interestAcceptedByMe(Long userId, Integer pageSize, String cursor) {
 		if (logger.isDebugEnabled()) {
-			logger.debug(String.format("Get Interests accepted by me with userID : %s", userId));
+			logger.debug(String.format("Get Interests accepted by me with userID : %s, pageSize : %s", userId, pageSize));
 		}
-		List<Long> userIds = interestRepository.interestAcceptedByMe(userId);
-		return userAccountRepository.findAllById(userIds);
+		return interestPage(pageSize, cursor, (updatedDate, interestId, pageable) -> interestRepository
+				.interestAcceptedByMe(userId, updatedDate, interestId, pageable));
 	}
 
 	@Override
-	public List<UserAccount> interestAcceptedByThem(Long userId) {
+	public InterestOutBean interestAcceptedByThem(Long userId, Integer pageSize, String cursor) {
 		if (logger.isDebugEnabled()) {
-			logger.debug(String.format("Get Interests accepted by them with userID : %s", userId));
+			logger.debug(String.format("Get Interests accepted by them with userID : %s, pageSize : %s", userId, pageSize));
 		}
-		List<Long> userIds = interestRepository.interestAcceptedByThem(userId);
-		return userAccountRepository.findAllById(userIds);
+		return interestPage(pageSize, cursor, (updatedDate, interestId, pageable) -> interestRepository
+				.interestAcceptedByThem(userId, updatedDate, interestId, pageable));
 	}
 
 	@Override
-	public List<UserAccount> interestDeclinedByMe(Long userId) {
+	public InterestOutBean interestDeclinedByMe(Long userId, Integer pageSize, String cursor) {
 		if (logger.isDebugEnabled()) {
-			logger.debug(String.format("Get Interests declined by me with userID : %s", userId));
+			logger.debug(String.format("Get Interests declined by me with userID : %s, pageSize : %s", userId, pageSize));
 		}
-		List<Long> userIds = interestRepository.interestDeclinedByMe(userId);
-		return userAccountRepository.findAllById(userIds);
+		return interestPage(pageSize, cursor, (updatedDate, interestId, pageable) -> interestRepository
+				.interestDeclinedByMe(userId, updatedDate, interestId, pageable));
 	}
 
 	@Override
-	public List<UserAccount> interestDeclinedByThem(Long userId) {
+	public InterestOutBean interestDeclinedByThem(Long userId, Integer pageSize, String cursor) {
 		if (logger.isDebugEnabled()) {
-			logger.debug(String.format("Get Interests declined by them with userID : %s", userId));
+			logger.debug(String.format("Get Interests declined by them with userID : %s, pageSize : %s", userId, pageSize));
 		}
-		List<Long> userIds = interestRepository.interestDeclinedByThem(userId);
-		return userAccountRepository.findAllById(userIds);
+		return interestPage(pageSize, cursor, (updatedDate, interestId, pageable) -> interestRepository
+				.interestDeclinedByThem(userId, updatedDate, interestId, pageable));
 	}
 
-	private Interest fillInterestEntity(Interest interest, String status) {
+	@Override
+	public List<DiscoveryCardDTO> mutualMatches(Long userId) {
 		if (logger.isDebugEnabled()) {
-			logger.debug("Fill interest entity");
+			logger.debug(String.format("Get mutual matches with userID : %s", userId));
 		}
-		Date date = new Date();
-		interest.setStatus(status);
-		interest.setUpdatedDate(date);
-		return interest;
+		List<Long> userIds;
+		if (interestGraph.isReady()) {
+			userIds = Arrays.stream(interestGraph.mutualMatches(userId)).boxed().collect(Collectors.toList());
+		} else {
+			userIds = interestRepository.mutualMatchUserIds(userId);
+		}
+		if (userIds.isEmpty()) {
+			return Collections.<DiscoveryCardDTO>emptyList();
+		}
+		Map<Long, DiscoveryCardDTO> cardByUserId = new LinkedHashMap<>();
+		userAccountRepository.findDiscoveryCards(userIds)
+				.forEach(card -> cardByUserId.putIfAbsent(card.getUserAccountId(), card));
+		return new ArrayList<>(cardByUserId.values());
+	}
+
+	@Override
+	public InterestCountsDTO interestCounts(Long userId) {
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Get interest counts with userID : %s", userId));
+		}
+		return interestCounters.counts(userId);
+	}
+
+	@Override
+	public boolean isMutualMatch(Long userId, Long otherUserId) {
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Check mutual match with userID : %s, otherUserID : %s", userId, otherUserId));
+		}
+		if (interestGraph.isReady()) {
+			return interestGraph.isMutual(userId, otherUserId);
+		}
+		return interestRepository.mutualMatchUserIds(userId).contains(otherUserId);
+	}
+
+	@Override
+	public boolean isPendingEitherWay(Long userId, Long otherUserId) {
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Check pending interest with userID : %s, otherUserID : %s", userId,
+					otherUserId));
+		}
+		if (interestGraph.isReady()) {
+			return interestGraph.isPendingEitherWay(userId, otherUserId);
+		}
+		return interestRepository.isInterestAlreadySent(userId, otherUserId)
+				.filter(interest -> interest.getStatus() == InterestEnum.P).isPresent()
+				|| interestRepository.isInterestAlreadySent(otherUserId, userId)
+						.filter(interest -> interest.getStatus() == InterestEnum.P).isPresent();
+	}
+
+	private InterestOutBean interestPage(Integer pageSize, String cursor, InterestPageQuery query) {
+		int limit = pageSize == null || pageSize <= 0 ? InterestConstants.DEFAULT_PAGE_SIZE
+				: Math.min(pageSize, InterestConstants.MAX_PAGE_SIZE);
+		InterestCursor after = InterestCursor.decode(cursor);
+		List<InterestCardDTO> cards = query.find(after.getUpdatedDate(), after.getInterestId(),
+				PageRequest.of(0, limit));
+		InterestOutBean interestOutBean = new InterestOutBean();
+		interestOutBean.setInterests(distinctCards(cards));
+		interestOutBean.setNextCursor(
+				cards.size() < limit ? null : InterestCursor.of(cards.get(cards.size() - 1)).encode());
+		return interestOutBean;
+	}
+
+	/**
+	 * One card per interest when the counterpart has more than one profile
+	 * photo.
+	 */
+	private List<InterestCardDTO> distinctCards(List<InterestCardDTO> cards) {
+		Map<Long, InterestCardDTO> cardByInterestId = new LinkedHashMap<>();
+		cards.forEach(card -> cardByInterestId.putIfAbsent(card.getInterestId(), card));
+		return new ArrayList<>(cardByInterestId.values());
+	}
+
+	/**
+	 * Applies one state machine step to the interest as it was read, as a single
+	 * conditional write: an update for accept and decline, a delete for cancel.
+	 * Returns null on success, otherwise why the interest could not change.
+	 */
+	private String transitionInterest(Interest interest, InterestEnum next) {
+		InterestEnum current = interest.getStatus();
+		if (current == null || !current.canTransitionTo(next)) {
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Interest %s cannot move from %s to %s", interest.getInterestId(),
+						interest.getStatus(), next));
+			}
+			return String.format(RegistrationConstants.INTEREST_ALREADY_CLOSED_MESSAGE, interest.getStatus());
+		}
+		int updated;
+		if (next == InterestEnum.C) {
+			updated = interestRepository.deleteUnchangedInterest(interest.getInterestId(), interest.getStatus(),
+					interest.getVersion());
+		} else {
+			updated = interestRepository.transitionInterest(interest.getInterestId(), interest.getStatus(),
+					next, new Date(), interest.getVersion());
+		}
+		if (updated == 0) {
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Interest %s was changed concurrently", interest.getInterestId()));
+			}
+			return RegistrationConstants.INTEREST_CHANGED_MESSAGE;
+		}
+		return null;
 	}
 
 	private Interest fillInterestDetails(InterestDTO interestDTO) {
@@ -251,16 +463,26 @@ public class InterestServiceImpl implements InterestService {
 		}
 		Date date = new Date();
 		Interest interest = new Interest();
-		interest.setInterestId(RegistrationUtility.getUniqueID());
+		interest.setInterestId(interestRepository.nextInterestId());
 		interest.setUserId(interestDTO.getUserId());
 		interest.setInterestedOn(interestDTO.getInterestedOn());
-		interest.setStatus(InterestEnum.P.toString());
+		interest.setStatus(InterestEnum.P);
 		interest.setCreatedDate(date);
 		interest.setUpdatedDate(date);
 		return interest;
 	}
 
+	@FunctionalInterface
+	private interface InterestPageQuery {
+
+		List<InterestCardDTO> find(Date updatedDate, Long interestId, Pageable pageable);
+	}
+
 	public boolean validateUserByID(InterestDTO interestDTO) {
+		return validateUserByID(interestDTO, this::isUserActive);
+	}
+
+	private boolean validateUserByID(InterestDTO interestDTO, Predicate<Long> isActive) {
 		if (logger.isDebugEnabled()) {
 			logger.debug(String.format("Validating user by ID : %s", interestDTO.getUserId()));
 		}
@@ -268,7 +490,7 @@ public class InterestServiceImpl implements InterestService {
 		boolean isValid = true;
 
 		Long userID = interestDTO.getUserId();
-		if (!isUserActive(userID)) {
+		if (!isActive.test(userID)) {
 			if (sb.length() != 0) {
 				sb.append(", ");
 			}
@@ -277,7 +499,7 @@ public class InterestServiceImpl implements InterestService {
 		}
 
 		Long interestedOnID = interestDTO.getInterestedOn();
-		if (!isUserActive(interestedOnID)) {
+		if (!isActive.test(interestedOnID)) {
 			if (sb.length() != 0) {
 				sb.append(", ");
 			}
@@ -304,19 +526,4 @@ public class InterestServiceImpl implements InterestService {
 		return userAccountOptional.isPresent();
 	}
 
-	private boolean isInterestAlreadySent(InterestDTO interestDTO) {
-		if (logger.isDebugEnabled()) {
-			logger.debug("Check if interest is already sent from user : %s to %s", interestDTO.getUserId(),
-					interestDTO.getInterestedOn());
-		}
-		Optional<Interest> interest = interestRepository.isInterestAlreadySent(interestDTO.getUserId(),
-				interestDTO.getInterestedOn());
-		if (interest.isPresent()) {
-			interestDTO.setErrorMessage(RegistrationConstants.INTEREST_ALREADY_SENT_MESSAGE);
-			return true;
-		} else {
-			return false;
-		}
-	}
-
 }
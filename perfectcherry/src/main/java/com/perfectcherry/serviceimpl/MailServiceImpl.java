@@ -1,5 +1,13 @@
 package com.perfectcherry.serviceimpl;
 
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
 
@@ -9,11 +17,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.perfectcherry.constant.EmailConstants;
 import com.perfectcherry.constant.PerfectCherryConstants;
 import com.perfectcherry.dto.MailDTO;
+import com.perfectcherry.entity.MailSpool;
+import com.perfectcherry.mail.PooledTransport;
+import com.perfectcherry.mail.SmtpTransportPool;
 import com.perfectcherry.exception.PerfectCherryException;
+import com.perfectcherry.repository.MailSpoolRepository;
 import com.perfectcherry.service.MailService;
 
 @Service
@@ -24,25 +37,96 @@ public class MailServiceImpl implements MailService {
 	@Autowired
 	JavaMailSender mailSender;
 
+	@Autowired
+	private MailSpoolRepository mailSpoolRepository;
+
+	@Autowired
+	private SmtpTransportPool smtpTransportPool;
+
 	@Override
+	@Transactional
 	public void sendMail(MailDTO mailDTO) throws PerfectCherryException {
+		if (null == mailDTO || null == mailDTO.getMailTo()) {
+			throw new PerfectCherryException("Mail recipient is required");
+		}
+		MailSpool mailSpool = mailSpoolRepository.save(MailSpool.of(mailDTO, new Date()));
 		if (logger.isDebugEnabled()) {
-			logger.debug(String.format("Send mail with details: %s", mailDTO.toString()));
+			logger.debug(String.format("Queued mail : %s", mailSpool));
 		}
-		MimeMessage mimeMessage = mailSender.createMimeMessage();
+	}
+
+	@Override
+	public void deliverMail(MailDTO mailDTO) throws PerfectCherryException {
+		PerfectCherryException failure = deliverMails(Collections.singletonList(mailDTO)).get(0);
+		if (null != failure) {
+			throw failure;
+		}
+	}
+
+	@Override
+	public List<PerfectCherryException> deliverMails(List<MailDTO> mailDTOs) {
+		List<PerfectCherryException> failures = new ArrayList<>(Collections.nCopies(mailDTOs.size(), null));
+		PooledTransport transport = null;
 		try {
-			MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, true);
-			mimeMessageHelper.setSubject(mailDTO.getMailSubject());
-			mimeMessageHelper
-					.setFrom(new InternetAddress(EmailConstants.PC_EMAIL_ID, PerfectCherryConstants.PC_DOMAIN));
-			mimeMessageHelper.setTo(mailDTO.getMailTo());
-			mimeMessageHelper.setText(mailDTO.getMailContent());
-			mailSender.send(mimeMessageHelper.getMimeMessage());
-		} catch (Exception e) {
-			if (logger.isDebugEnabled()) {
-				logger.debug(String.format("Exception occured while sending mail : %s", e.toString()));
+			for (int i = 0; i < mailDTOs.size(); i++) {
+				MailDTO mailDTO = mailDTOs.get(i);
+				if (logger.isDebugEnabled()) {
+					logger.debug(String.format("Send mail with details: %s", mailDTO.toString()));
+				}
+				MimeMessage mimeMessage;
+				try {
+					mimeMessage = createMimeMessage(mailDTO);
+				} catch (MessagingException | UnsupportedEncodingException e) {
+					failures.set(i, sendFailure(e));
+					continue;
+				}
+				if (null == transport) {
+					try {
+						transport = smtpTransportPool.borrow();
+					} catch (MessagingException e) {
+						PerfectCherryException failure = sendFailure(e);
+						for (int j = i; j < mailDTOs.size(); j++) {
+							failures.set(j, failure);
+						}
+						break;
+					}
+				}
+				try {
+					transport.send(mimeMessage);
+				} catch (SendFailedException e) {
+					failures.set(i, sendFailure(e));
+				} catch (MessagingException e) {
+					failures.set(i, sendFailure(e));
+					smtpTransportPool.release(transport, true);
+					transport = null;
+				}
+			}
+		} finally {
+			if (null != transport) {
+				smtpTransportPool.release(transport, false);
 			}
-			throw new PerfectCherryException(e.toString());
 		}
+		return failures;
+	}
+
+	private MimeMessage createMimeMessage(MailDTO mailDTO) throws MessagingException, UnsupportedEncodingException {
+		MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mailSender.createMimeMessage(), true);
+		mimeMessageHelper.setSubject(mailDTO.getMailSubject());
+		mimeMessageHelper.setFrom(new InternetAddress(EmailConstants.PC_EMAIL_ID, PerfectCherryConstants.PC_DOMAIN));
+		mimeMessageHelper.setTo(mailDTO.getMailTo());
+		if (null == mailDTO.getHtmlContent()) {
+			mimeMessageHelper.setText(mailDTO.getMailContent());
+		} else {
+			mimeMessageHelper.setText(mailDTO.getMailContent(), mailDTO.getHtmlContent());
+		}
+		mimeMessageHelper.getMimeMessage().setSentDate(new Date());
+		return mimeMessageHelper.getMimeMessage();
+	}
+
+	private PerfectCherryException sendFailure(Exception e) {
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Exception occured while sending mail : %s", e.toString()));
+		}
+		return new PerfectCherryException(e.toString());
 	}
 }
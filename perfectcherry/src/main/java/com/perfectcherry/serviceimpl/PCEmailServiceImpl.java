@@ -1,6 +1,14 @@
 package com.perfectcherry.serviceimpl;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -10,14 +18,22 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.perfectcherry.configuration.properties.NotificationConfigProperties;
 import com.perfectcherry.constant.EmailConstants;
 import com.perfectcherry.constant.InterestConstants;
 import com.perfectcherry.constant.PerfectCherryConstants;
 import com.perfectcherry.constant.RegistrationConstants;
 import com.perfectcherry.dto.MailDTO;
+import com.perfectcherry.dto.NotificationPreferenceDTO;
 import com.perfectcherry.dto.ResponseDTO;
+import com.perfectcherry.entity.InterestDigestEntry;
+import com.perfectcherry.entity.NotificationPreference;
 import com.perfectcherry.entity.UserAccount;
 import com.perfectcherry.exception.PerfectCherryException;
+import com.perfectcherry.mail.MailTemplates;
+import com.perfectcherry.pcenum.DomainEventType;
+import com.perfectcherry.pcenum.NotificationMode;
+import com.perfectcherry.repository.NotificationPreferenceRepository;
 import com.perfectcherry.repository.UserAccountRepository;
 import com.perfectcherry.service.MailService;
 import com.perfectcherry.service.PCEmailService;
@@ -35,7 +51,17 @@ public class PCEmailServiceImpl implements PCEmailService {
 	@Autowired
 	private UserAccountRepository userAccountRepository;
 
+	@Autowired
+	private NotificationPreferenceRepository notificationPreferenceRepository;
+
+	@Autowired
+	private NotificationConfigProperties notificationConfigProperties;
+
+	@Autowired
+	private MailTemplates mailTemplates;
+
 	@Override
+	@Transactional
 	public ResponseEntity<ResponseDTO> forgotPassword(String emailAddress, String password) {
 		if (logger.isDebugEnabled()) {
 			logger.debug(String.format("Send forgot password mail to emailAddress : %s", emailAddress));
@@ -57,6 +83,7 @@ public class PCEmailServiceImpl implements PCEmailService {
 	}
 
 	@Override
+	@Transactional
 	public ResponseEntity<ResponseDTO> resetPasswordMail(String emailAddress) {
 		if (logger.isDebugEnabled()) {
 			logger.debug(String.format("Send reset password mail to emailAddress : %s", emailAddress));
@@ -79,6 +106,7 @@ public class PCEmailServiceImpl implements PCEmailService {
 	}
 
 	@Override
+	@Transactional
 	public ResponseEntity<ResponseDTO> sendInterestMail(Long userId, Long interestedOn, String action) {
 		if (logger.isDebugEnabled()) {
 			logger.debug(String.format("Send Interest mail to interestedOnID : %s", interestedOn));
@@ -112,6 +140,83 @@ public class PCEmailServiceImpl implements PCEmailService {
 				HttpStatus.BAD_REQUEST);
 	}
 
+	@Override
+	@Transactional
+	public ResponseEntity<ResponseDTO> sendInterestDigest(Long userId, List<InterestDigestEntry> entries) {
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Send interest digest of %s events to userID : %s", entries.size(), userId));
+		}
+		Optional<UserAccount> userAccountOptional = userAccountRepository.getActiveUser(userId);
+		if (!userAccountOptional.isPresent()) {
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("No active user is present with userID : %s", userId));
+			}
+			return RegistrationUtility.fillResponseEntity(RegistrationConstants.NO_ACTIVE_USER_ID_MESSAGE,
+					HttpStatus.BAD_REQUEST);
+		}
+		Set<Long> actorIds = entries.stream().map(InterestDigestEntry::getActorId).collect(Collectors.toSet());
+		Map<Long, String> actorNames = new HashMap<>();
+		userAccountRepository.findAllById(actorIds)
+				.forEach(actor -> actorNames.put(actor.getUserAccountId(), actor.getUserName()));
+		try {
+			mailService.sendMail(getInterestDigestMailDTO(userAccountOptional.get(), entries, actorNames));
+		} catch (PerfectCherryException e) {
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Exception occurred while sending interest digest mail : %s", e.toString()));
+			}
+			return RegistrationUtility.fillResponseEntity(RegistrationConstants.EMAIL_EXCEPTION_MESSAGE,
+					HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+		return RegistrationUtility.fillResponseEntity(RegistrationConstants.EMAIL_SENT_SUCCESSFULLY, HttpStatus.OK);
+	}
+
+	@Override
+	public NotificationMode notificationMode(Long userId, DomainEventType type) {
+		NotificationMode mode = notificationPreferenceRepository.findById(userId)
+				.map(notificationPreference -> notificationPreference.modeFor(type)).orElse(null);
+		if (null != mode) {
+			return mode;
+		}
+		switch (type) {
+		case INTEREST_ACCEPTED:
+			return notificationConfigProperties.getInterestAcceptedMode();
+		case INTEREST_DECLINED:
+			return notificationConfigProperties.getInterestDeclinedMode();
+		default:
+			return notificationConfigProperties.getNewInterestMode();
+		}
+	}
+
+	@Override
+	public NotificationPreferenceDTO getNotificationPreference(Long userId) {
+		return new NotificationPreferenceDTO(userId, notificationMode(userId, DomainEventType.INTEREST_SENT),
+				notificationMode(userId, DomainEventType.INTEREST_ACCEPTED),
+				notificationMode(userId, DomainEventType.INTEREST_DECLINED));
+	}
+
+	@Override
+	@Transactional
+	public ResponseEntity<ResponseDTO> saveNotificationPreference(
+			NotificationPreferenceDTO notificationPreferenceDTO) {
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Save notification preference : %s", notificationPreferenceDTO));
+		}
+		Long userId = notificationPreferenceDTO.getUserId();
+		if (null == userId || !userAccountRepository.getActiveUser(userId).isPresent()) {
+			return RegistrationUtility.fillResponseEntity(RegistrationConstants.NO_ACTIVE_USER_ID_MESSAGE,
+					HttpStatus.BAD_REQUEST);
+		}
+		NotificationPreference notificationPreference = new NotificationPreference();
+		notificationPreference.setUserId(userId);
+		notificationPreference.setNewInterest(notificationPreferenceDTO.getNewInterest());
+		notificationPreference.setInterestAccepted(notificationPreferenceDTO.getInterestAccepted());
+		notificationPreference.setInterestDeclined(notificationPreferenceDTO.getInterestDeclined());
+		notificationPreference.setUpdatedDate(new Date());
+		notificationPreferenceRepository.save(notificationPreference);
+		return RegistrationUtility.fillResponseEntity(RegistrationConstants.NOTIFICATION_PREFERENCE_SAVED,
+				HttpStatus.OK);
+	}
+
 	private MailDTO getMailDTOFactory(UserAccount userAccount, UserAccount interesteOnUserAccount, String action) {
 		MailDTO mailDTO = null;
 		switch (action) {
@@ -135,9 +240,9 @@ public class PCEmailServiceImpl implements PCEmailService {
 		MailDTO mailDTO = getDefaultMailDTO();
 		mailDTO.setMailTo(emailAddress);
 		mailDTO.setMailSubject(EmailConstants.FORGOT_PASSWORD_SUBJECT);
-		mailDTO.setMailContent("Your password has been changed..!!!\n\nLogin with new password: " + password
-				+ "\n\nThanks\nwww.perfectcherry.com");
-		return mailDTO;
+		Map<String, Object> model = getTemplateModel();
+		model.put("password", password);
+		return mailTemplates.render(mailDTO, EmailConstants.FORGOT_PASSWORD_TEMPLATE, model);
 	}
 
 	private MailDTO getResetMailDTO(String emailAddress) {
@@ -147,9 +252,7 @@ public class PCEmailServiceImpl implements PCEmailService {
 		MailDTO mailDTO = getDefaultMailDTO();
 		mailDTO.setMailTo(emailAddress);
 		mailDTO.setMailSubject(EmailConstants.RESET_PASSWORD_SUBJECT);
-		mailDTO.setMailContent(
-				"Your password reset was successful..!!!\n\nLogin with new password\n\nThanks\nwww.perfectcherry.com");
-		return mailDTO;
+		return mailTemplates.render(mailDTO, EmailConstants.RESET_PASSWORD_TEMPLATE, getTemplateModel());
 	}
 
 	private MailDTO getInterestSentMailDTO(UserAccount userAccount, UserAccount interesteOnUserAccount) {
@@ -159,9 +262,7 @@ public class PCEmailServiceImpl implements PCEmailService {
 		MailDTO mailDTO = getDefaultMailDTO();
 		mailDTO.setMailTo(interesteOnUserAccount.getEmailAddress());
 		mailDTO.setMailSubject(String.format(EmailConstants.INTEREST_SENT_SUBJECT, userAccount.getUserName()));
-		mailDTO.setMailContent(String.format("Yay..!!!%n%nYou got a new interest, login to %s to find out more.%n%n%s",
-				PerfectCherryConstants.PC_DOMAIN, EmailConstants.EMAIL_SIGNATURE));
-		return mailDTO;
+		return mailTemplates.render(mailDTO, EmailConstants.INTEREST_SENT_TEMPLATE, getActorModel(userAccount));
 	}
 
 	private MailDTO getInterestAcceptMailDTO(UserAccount userAccount, UserAccount interesteOnUserAccount) {
@@ -170,10 +271,8 @@ public class PCEmailServiceImpl implements PCEmailService {
 		}
 		MailDTO mailDTO = getDefaultMailDTO();
 		mailDTO.setMailTo(interesteOnUserAccount.getEmailAddress());
-		mailDTO.setMailSubject(String.format(EmailConstants.INTEREST_SENT_SUBJECT, userAccount.getUserName()));
-		mailDTO.setMailContent(String.format("Yay..!!!%n%nYou got a new interest, login to %s to find out more.%s",
-				PerfectCherryConstants.PC_DOMAIN, EmailConstants.EMAIL_SIGNATURE));
-		return mailDTO;
+		mailDTO.setMailSubject(String.format(EmailConstants.INTEREST_ACCEPTED_SUBJECT, userAccount.getUserName()));
+		return mailTemplates.render(mailDTO, EmailConstants.INTEREST_ACCEPTED_TEMPLATE, getActorModel(userAccount));
 	}
 
 	private MailDTO getInterestDeclineMailDTO(UserAccount userAccount, UserAccount interesteOnUserAccount) {
@@ -182,10 +281,53 @@ public class PCEmailServiceImpl implements PCEmailService {
 		}
 		MailDTO mailDTO = getDefaultMailDTO();
 		mailDTO.setMailTo(interesteOnUserAccount.getEmailAddress());
-		mailDTO.setMailSubject(String.format(EmailConstants.INTEREST_SENT_SUBJECT, userAccount.getUserName()));
-		mailDTO.setMailContent(String.format("Yay..!!!%n%nYou got a new interest, login to %s to find out more.%s",
-				PerfectCherryConstants.PC_DOMAIN, EmailConstants.EMAIL_SIGNATURE));
-		return mailDTO;
+		mailDTO.setMailSubject(String.format(EmailConstants.INTEREST_DECLINED_SUBJECT, userAccount.getUserName()));
+		return mailTemplates.render(mailDTO, EmailConstants.INTEREST_DECLINED_TEMPLATE, getActorModel(userAccount));
+	}
+
+	private MailDTO getInterestDigestMailDTO(UserAccount userAccount, List<InterestDigestEntry> entries,
+			Map<Long, String> actorNames) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Get interestDigestMailDTO");
+		}
+		Map<DomainEventType, List<String>> namesByType = new EnumMap<>(DomainEventType.class);
+		for (InterestDigestEntry entry : entries) {
+			namesByType.computeIfAbsent(entry.getEventType(), type -> new ArrayList<>())
+					.add(actorNames.getOrDefault(entry.getActorId(), "A member"));
+		}
+		List<Map<String, Object>> lines = new ArrayList<>();
+		addDigestLine(lines, "New interests from", namesByType.get(DomainEventType.INTEREST_SENT));
+		addDigestLine(lines, "Interests accepted by", namesByType.get(DomainEventType.INTEREST_ACCEPTED));
+		addDigestLine(lines, "Interests declined by", namesByType.get(DomainEventType.INTEREST_DECLINED));
+		Map<String, Object> model = getTemplateModel();
+		model.put("recipientName", userAccount.getUserName());
+		model.put("lines", lines);
+		MailDTO mailDTO = getDefaultMailDTO();
+		mailDTO.setMailTo(userAccount.getEmailAddress());
+		mailDTO.setMailSubject(String.format(EmailConstants.INTEREST_DIGEST_SUBJECT, entries.size()));
+		return mailTemplates.render(mailDTO, EmailConstants.INTEREST_DIGEST_TEMPLATE, model);
+	}
+
+	private static void addDigestLine(List<Map<String, Object>> lines, String label, List<String> names) {
+		if (null != names) {
+			Map<String, Object> line = new HashMap<>();
+			line.put("label", label);
+			line.put("count", names.size());
+			line.put("names", String.join(", ", names));
+			lines.add(line);
+		}
+	}
+
+	private Map<String, Object> getActorModel(UserAccount actor) {
+		Map<String, Object> model = getTemplateModel();
+		model.put("actorName", actor.getUserName());
+		return model;
+	}
+
+	private Map<String, Object> getTemplateModel() {
+		Map<String, Object> model = new HashMap<>();
+		model.put("domain", PerfectCherryConstants.PC_DOMAIN);
+		return model;
 	}
 
 	private MailDTO getDefaultMailDTO() {
@@ -1,9 +1,15 @@
 package com.perfectcherry.serviceimpl;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.LongPredicate;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -15,17 +21,34 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.perfectcherry.configuration.properties.DiscoveryConfigProperties;
+import com.perfectcherry.constant.DiscoveryConstants;
 import com.perfectcherry.constant.RegistrationConstants;
+import com.perfectcherry.discovery.DiscoveryCursor;
+import com.perfectcherry.discovery.DiscoveryFeedStore;
+import com.perfectcherry.discovery.DiscoveryFilter;
+import com.perfectcherry.discovery.InteractionIndex;
+import com.perfectcherry.discovery.MatchScorer;
+import com.perfectcherry.discovery.NearbyUser;
+import com.perfectcherry.discovery.RankedMatch;
+import com.perfectcherry.discovery.UserLocationIndex;
+import com.perfectcherry.dto.DiscoveryCardDTO;
+import com.perfectcherry.dto.DiscoveryPageDTO;
+import com.perfectcherry.dto.NearbyUserAccount;
 import com.perfectcherry.dto.ResponseDTO;
 import com.perfectcherry.dto.UserAccountDTO;
 import com.perfectcherry.entity.User;
 import com.perfectcherry.entity.UserAccount;
+import com.perfectcherry.event.DomainEvent;
+import com.perfectcherry.event.DomainEventPublisher;
+import com.perfectcherry.pcenum.DomainEventType;
 import com.perfectcherry.pcenum.ProfilePhoto;
 import com.perfectcherry.pcenum.UserStatus;
 import com.perfectcherry.repository.UserAccountRepository;
 import com.perfectcherry.repository.UserRepository;
 import com.perfectcherry.service.UserAccountService;
 import com.perfectcherry.service.UserService;
+import com.perfectcherry.utility.GeoUtility;
 import com.perfectcherry.utility.RegistrationUtility;
 
 @Service
@@ -43,6 +66,21 @@ public class UserAccountServiceImpl implements UserAccountService {
 	@Autowired
 	private UserService userService;
 
+	@Autowired
+	private UserLocationIndex userLocationIndex;
+
+	@Autowired
+	private InteractionIndex interactionIndex;
+
+	@Autowired
+	private DiscoveryConfigProperties discoveryConfigProperties;
+
+	@Autowired
+	private DiscoveryFeedStore discoveryFeedStore;
+
+	@Autowired
+	private DomainEventPublisher domainEventPublisher;
+
 	@Override
 	@Modifying
 	@Transactional
@@ -59,6 +97,8 @@ public class UserAccountServiceImpl implements UserAccountService {
 				userAccount = userOptional.get().getUserAccount();
 				fillModifiedUserAccoutDetails(userAccount, userAccountDTO);
 				userAccountRepository.save(userAccount);
+				domainEventPublisher
+						.publish(DomainEvent.of(DomainEventType.USER_ACCOUNT_UPDATED, userAccount.getUserAccountId()));
 				if (logger.isDebugEnabled()) {
 					logger.debug(String.format("User updated successfully : %s", userAccountDTO.toString()));
 				}
@@ -94,6 +134,7 @@ public class UserAccountServiceImpl implements UserAccountService {
 				userAccount.setStatus(UserStatus.O.asChar());
 				userAccount.setUpdatedDate(date);
 				userAccountRepository.save(userAccount);
+				domainEventPublisher.publish(DomainEvent.of(DomainEventType.USER_ACCOUNT_DEACTIVATED, userID));
 				if (logger.isDebugEnabled()) {
 					logger.debug(String.format("User with Id-%s is deactivated successfully", userID));
 				}
@@ -130,6 +171,7 @@ public class UserAccountServiceImpl implements UserAccountService {
 				userAccount.setStatus(UserStatus.A.asChar());
 				userAccount.setUpdatedDate(date);
 				userAccountRepository.save(userAccount);
+				domainEventPublisher.publish(DomainEvent.of(DomainEventType.USER_ACCOUNT_ACTIVATED, userID));
 				if (logger.isDebugEnabled()) {
 					logger.debug(String.format("User with userID-%s activated successfully", userID));
 				}
@@ -184,22 +226,185 @@ public class UserAccountServiceImpl implements UserAccountService {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Find people near me");
 		}
-		List<UserAccount> userAccountList = null;
 		User user = userService.getUserFromToken();
 		if (user != null) {
 			Optional<UserAccount> optionalUser = userAccountRepository.findById(user.getId());
 			if (optionalUser.isPresent()) {
 				UserAccount userAccount = optionalUser.get();
-				userAccountList = userAccountRepository.findPeopleNearMe(userAccount.getUserAccountId(),
-						userAccount.getLatitude(), userAccount.getLongitude(), userAccount.getPeopleWithinKm());
-				return userAccountList.parallelStream()
-						.filter(ua -> ua.getGender().equals(userAccount.getInterestedIn()))
-						.collect(Collectors.toList());
+				DiscoveryFilter filter = DiscoveryFilter.of(userAccount);
+				MatchScorer scorer = MatchScorer.of(userAccount);
+				if (userLocationIndex.isReady()) {
+					return findIndexedPeopleNearMe(userAccount, filter, scorer);
+				}
+				Map<Long, Double> distanceByUserId = findDistancesWithinKm(userAccount, filter);
+				return rankPeopleNearMe(userAccountRepository.findAllById(distanceByUserId.keySet()).stream()
+						.filter(filter::test).collect(Collectors.toList()), distanceByUserId, scorer);
 			}
 		}
 		return Collections.<UserAccount>emptyList();
 	}
 
+	@Override
+	public DiscoveryPageDTO discover(Integer pageSize, String cursor, Integer minAge, Integer maxAge,
+			List<String> sexualOrientations) {
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Discover people near me with pageSize : %s, age : %s-%s, orientations : %s",
+					pageSize, minAge, maxAge, sexualOrientations));
+		}
+		int limit = pageSize == null || pageSize <= 0 ? DiscoveryConstants.DEFAULT_PAGE_SIZE
+				: Math.min(pageSize, DiscoveryConstants.MAX_PAGE_SIZE);
+		DiscoveryCursor after = DiscoveryCursor.decode(cursor);
+		User user = userService.getUserFromToken();
+		if (user != null) {
+			Optional<UserAccount> optionalUser = userAccountRepository.findById(user.getId());
+			if (optionalUser.isPresent() && optionalUser.get().getLatitude() != null
+					&& optionalUser.get().getLongitude() != null) {
+				UserAccount userAccount = optionalUser.get();
+				DiscoveryFilter filter = DiscoveryFilter.of(userAccount).withAgeRange(minAge, maxAge)
+						.withSexualOrientations(sexualOrientations);
+				List<NearbyUser> nearbyUsers = findNearbyPage(userAccount, filter, after, limit,
+						interactionIndex.notInteractedWith(userAccount.getUserAccountId()));
+				List<DiscoveryCardDTO> cards = fillDiscoveryCards(nearbyUsers);
+				String nextCursor = nearbyUsers.size() < limit ? null
+						: DiscoveryCursor.of(nearbyUsers.get(nearbyUsers.size() - 1)).encode();
+				return new DiscoveryPageDTO(cards, nextCursor);
+			}
+		}
+		return new DiscoveryPageDTO(Collections.<DiscoveryCardDTO>emptyList(), null);
+	}
+
+	@Override
+	public DiscoveryPageDTO discoveryFeed(Integer pageSize) {
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Discovery feed with pageSize : %s", pageSize));
+		}
+		int limit = pageSize == null || pageSize <= 0 ? DiscoveryConstants.DEFAULT_PAGE_SIZE
+				: Math.min(pageSize, DiscoveryConstants.MAX_PAGE_SIZE);
+		User user = userService.getUserFromToken();
+		if (user != null) {
+			Optional<UserAccount> optionalUser = userAccountRepository.findById(user.getId());
+			if (optionalUser.isPresent()) {
+				List<NearbyUser> nearbyUsers = discoveryFeedStore.nextPage(optionalUser.get(), limit);
+				return new DiscoveryPageDTO(fillDiscoveryCards(nearbyUsers), null);
+			}
+		}
+		return new DiscoveryPageDTO(Collections.<DiscoveryCardDTO>emptyList(), null);
+	}
+
+	@Override
+	public List<DiscoveryCardDTO> findNearestMatches(Integer count) {
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Find nearest matches with count : %s", count));
+		}
+		int limit = count == null || count <= 0 ? DiscoveryConstants.DEFAULT_PAGE_SIZE
+				: Math.min(count, DiscoveryConstants.MAX_PAGE_SIZE);
+		User user = userService.getUserFromToken();
+		if (user != null) {
+			Optional<UserAccount> optionalUser = userAccountRepository.findById(user.getId());
+			if (optionalUser.isPresent() && optionalUser.get().getLatitude() != null
+					&& optionalUser.get().getLongitude() != null) {
+				UserAccount userAccount = optionalUser.get();
+				DiscoveryFilter filter = DiscoveryFilter.of(userAccount);
+				LongPredicate accept = interactionIndex.notInteractedWith(userAccount.getUserAccountId());
+				if (userLocationIndex.isReady()) {
+					return fillDiscoveryCards(userLocationIndex.findNearest(userAccount.getUserAccountId(),
+							userAccount.getLatitude().doubleValue(), userAccount.getLongitude().doubleValue(), filter,
+							accept, limit));
+				}
+				return fillDiscoveryCards(findNearbyPage(userAccount, filter, null, limit, accept));
+			}
+		}
+		return Collections.<DiscoveryCardDTO>emptyList();
+	}
+
+	private List<NearbyUser> findNearbyPage(UserAccount userAccount, DiscoveryFilter filter, DiscoveryCursor after,
+			int limit, LongPredicate accept) {
+		if (userLocationIndex.isReady()) {
+			return userLocationIndex.findPageWithinKm(userAccount.getUserAccountId(),
+					userAccount.getLatitude().doubleValue(), userAccount.getLongitude().doubleValue(),
+					userAccount.getPeopleWithinKm(), filter, after, limit, accept);
+		}
+		Map<Long, Double> distanceByUserId = findDistancesWithinKm(userAccount, filter);
+		return userAccountRepository.findAllById(distanceByUserId.keySet()).stream().filter(filter::test)
+				.map(ua -> new NearbyUser(ua.getUserAccountId(), distanceByUserId.get(ua.getUserAccountId())))
+				.filter(nearbyUser -> after == null
+						|| after.isBefore(nearbyUser.getDistance(), nearbyUser.getUserAccountId()))
+				.filter(nearbyUser -> accept.test(nearbyUser.getUserAccountId()))
+				.sorted(Comparator.comparingDouble(NearbyUser::getDistance)
+						.thenComparingLong(NearbyUser::getUserAccountId))
+				.limit(limit).collect(Collectors.toList());
+	}
+
+	private Map<Long, Double> findDistancesWithinKm(UserAccount userAccount, DiscoveryFilter filter) {
+		Map<Long, Double> distanceByUserId = new LinkedHashMap<>();
+		if (userAccount.getLatitude() == null || userAccount.getLongitude() == null) {
+			return distanceByUserId;
+		}
+		String boundingBox = GeoUtility.boundingBoxWkt(userAccount.getLatitude().doubleValue(),
+				userAccount.getLongitude().doubleValue(), userAccount.getPeopleWithinKm());
+		List<NearbyUserAccount> nearbyUsers = boundingBox != null
+				? userAccountRepository.findPeopleWithinKm(userAccount.getUserAccountId(), userAccount.getLatitude(),
+						userAccount.getLongitude(), userAccount.getPeopleWithinKm(), boundingBox, filter.getGender(),
+						filter.getInterestedIn())
+				: userAccountRepository.findPeopleWithinKmUnbounded(userAccount.getUserAccountId(),
+						userAccount.getLatitude(), userAccount.getLongitude(), userAccount.getPeopleWithinKm(),
+						filter.getGender(), filter.getInterestedIn());
+		nearbyUsers.forEach(
+				nearbyUser -> distanceByUserId.put(nearbyUser.getUserAccountId(), nearbyUser.getDistance()));
+		return distanceByUserId;
+	}
+
+	private List<DiscoveryCardDTO> fillDiscoveryCards(List<NearbyUser> nearbyUsers) {
+		if (nearbyUsers.isEmpty()) {
+			return Collections.<DiscoveryCardDTO>emptyList();
+		}
+		Map<Long, Double> distanceByUserId = new LinkedHashMap<>();
+		nearbyUsers.forEach(
+				nearbyUser -> distanceByUserId.put(nearbyUser.getUserAccountId(), nearbyUser.getDistance()));
+		Map<Long, DiscoveryCardDTO> cardByUserId = new HashMap<>();
+		userAccountRepository.findDiscoveryCards(distanceByUserId.keySet())
+				.forEach(card -> cardByUserId.putIfAbsent(card.getUserAccountId(), card));
+		List<DiscoveryCardDTO> cards = new ArrayList<>(cardByUserId.size());
+		distanceByUserId.forEach((userAccountId, distance) -> {
+			DiscoveryCardDTO card = cardByUserId.get(userAccountId);
+			if (card != null) {
+				card.setDistance(distance);
+				cards.add(card);
+			}
+		});
+		return cards;
+	}
+
+	private List<UserAccount> findIndexedPeopleNearMe(UserAccount userAccount, DiscoveryFilter filter,
+			MatchScorer scorer) {
+		if (userAccount.getLatitude() == null || userAccount.getLongitude() == null) {
+			return Collections.<UserAccount>emptyList();
+		}
+		List<RankedMatch> matches = userLocationIndex.findTopMatchesWithinKm(userAccount.getUserAccountId(),
+				userAccount.getLatitude().doubleValue(), userAccount.getLongitude().doubleValue(),
+				userAccount.getPeopleWithinKm(), filter,
+				interactionIndex.notInteractedWith(userAccount.getUserAccountId()), scorer,
+				discoveryConfigProperties.getRankingTopK());
+		if (matches.isEmpty()) {
+			return Collections.<UserAccount>emptyList();
+		}
+		Map<Long, Integer> rankByUserId = new HashMap<>();
+		matches.forEach(match -> rankByUserId.put(match.getUserAccountId(), rankByUserId.size()));
+		List<UserAccount> userAccountList = userAccountRepository.findAllById(rankByUserId.keySet());
+		userAccountList.sort(Comparator.comparing(ua -> rankByUserId.get(ua.getUserAccountId())));
+		return userAccountList;
+	}
+
+	private List<UserAccount> rankPeopleNearMe(List<UserAccount> candidates, Map<Long, Double> distanceByUserId,
+			MatchScorer scorer) {
+		Map<Long, Double> scoreByUserId = new HashMap<>();
+		candidates.forEach(candidate -> scoreByUserId.put(candidate.getUserAccountId(),
+				scorer.score(candidate, distanceByUserId.get(candidate.getUserAccountId()))));
+		return candidates.stream()
+				.sorted(Comparator.comparing((UserAccount ua) -> scoreByUserId.get(ua.getUserAccountId())).reversed())
+				.limit(discoveryConfigProperties.getRankingTopK()).collect(Collectors.toList());
+	}
+
 	private Long getUserID(Long userID) {
 		if (userID == null) {
 			User user = userService.getUserFromToken();
@@ -24,7 +24,10 @@ import com.perfectcherry.dto.UserDTO;
 import com.perfectcherry.entity.AuthUserDetail;
 import com.perfectcherry.entity.User;
 import com.perfectcherry.entity.UserAccount;
+import com.perfectcherry.event.DomainEvent;
+import com.perfectcherry.event.DomainEventPublisher;
 import com.perfectcherry.iauthentication.IAuthenticationFacade;
+import com.perfectcherry.pcenum.DomainEventType;
 import com.perfectcherry.pcenum.UserRole;
 import com.perfectcherry.pcenum.UserStatus;
 import com.perfectcherry.repository.UserRepository;
@@ -47,6 +50,9 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 	@Autowired
 	private IAuthenticationFacade iAuthenticationFacade;
 
+	@Autowired
+	private DomainEventPublisher domainEventPublisher;
+
 	@Override
 	public UserDetails loadUserByUsername(String name) {
 		if (logger.isDebugEnabled()) {
@@ -107,6 +113,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 			if (userOptional.isPresent()) {
 				User user = userOptional.get();
 				userRepository.delete(user);
+				domainEventPublisher.publish(DomainEvent.of(DomainEventType.USER_DELETED, userID));
 				if (logger.isDebugEnabled()) {
 					logger.debug(String.format("User with userID-%s deleted successfully", userID));
 				}
@@ -0,0 +1,123 @@
+package com.perfectcherry.utility;
+
+import java.util.Locale;
+
+public final class GeoUtility {
+
+	private GeoUtility() {
+	}
+
+	public static final double EARTH_RADIUS_KM = 6371.0088;
+
+	public static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+	public static final int MAX_GEOHASH_PRECISION = 12;
+
+	public static double distanceInKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+		double dLat = Math.toRadians(latitude2 - latitude1);
+		double dLon = Math.toRadians(longitude2 - longitude1);
+		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(latitude1))
+				* Math.cos(Math.toRadians(latitude2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+
+	/**
+	 * Latitude span in degrees covered by the given distance.
+	 */
+	public static double latitudeDelta(double km) {
+		return km / KM_PER_DEGREE;
+	}
+
+	/**
+	 * Longitude span in degrees covered by the given distance at the given
+	 * latitude, or 360 when the distance wraps around the globe.
+	 */
+	public static double longitudeDelta(double km, double latitude) {
+		double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude))));
+		if (cos <= 0) {
+			return 360;
+		}
+		return Math.min(360, km / (KM_PER_DEGREE * cos));
+	}
+
+	/**
+	 * WKT polygon in SRID 4326 axis order (latitude first) enclosing every point
+	 * within the given distance of a position, or null when that box would
+	 * cross a pole or the antimeridian.
+	 */
+	public static String boundingBoxWkt(double latitude, double longitude, double km) {
+		double latDelta = latitudeDelta(km);
+		double minLat = latitude - latDelta;
+		double maxLat = latitude + latDelta;
+		if (minLat <= -90 || maxLat >= 90) {
+			return null;
+		}
+		double lonDelta = longitudeDelta(km, Math.max(Math.abs(minLat), Math.abs(maxLat)));
+		double minLon = longitude - lonDelta;
+		double maxLon = longitude + lonDelta;
+		if (minLon < -180 || maxLon > 180 || maxLon - minLon >= 180) {
+			return null;
+		}
+		return String.format(Locale.ROOT,
+				"POLYGON((%1$.8f %3$.8f, %2$.8f %3$.8f, %2$.8f %4$.8f, %1$.8f %4$.8f, %1$.8f %3$.8f))", minLat, maxLat,
+				minLon, maxLon);
+	}
+
+	public static int latitudeBits(int precision) {
+		return (5 * precision) / 2;
+	}
+
+	public static int longitudeBits(int precision) {
+		return (5 * precision + 1) / 2;
+	}
+
+	public static int latitudeCells(int precision) {
+		return 1 << latitudeBits(precision);
+	}
+
+	public static int longitudeCells(int precision) {
+		return 1 << longitudeBits(precision);
+	}
+
+	public static double latitudeCellSize(int precision) {
+		return 180.0 / latitudeCells(precision);
+	}
+
+	public static double longitudeCellSize(int precision) {
+		return 360.0 / longitudeCells(precision);
+	}
+
+	public static int latitudeIndex(double latitude, int precision) {
+		int cells = latitudeCells(precision);
+		int index = (int) Math.floor((latitude + 90) / 180 * cells);
+		return Math.max(0, Math.min(cells - 1, index));
+	}
+
+	public static int longitudeIndex(double longitude, int precision) {
+		int cells = longitudeCells(precision);
+		int index = (int) Math.floor((longitude + 180) / 360 * cells);
+		return Math.floorMod(index, cells);
+	}
+
+	/**
+	 * Geohash of the given position as an integer of 5 * precision bits, the
+	 * same bits a base32 geohash string of that length encodes.
+	 */
+	public static long geoHash(double latitude, double longitude, int precision) {
+		return cellKey(latitudeIndex(latitude, precision), longitudeIndex(longitude, precision), precision);
+	}
+
+	public static long cellKey(int latitudeIndex, int longitudeIndex, int precision) {
+		int latBits = latitudeBits(precision);
+		int lonBits = longitudeBits(precision);
+		long hash = 0;
+		for (int i = 0; i < lonBits; i++) {
+			hash = (hash << 1) | ((longitudeIndex >>> (lonBits - 1 - i)) & 1);
+			if (i < latBits) {
+				hash = (hash << 1) | ((latitudeIndex >>> (latBits - 1 - i)) & 1);
+			}
+		}
+		return hash;
+	}
+
+}
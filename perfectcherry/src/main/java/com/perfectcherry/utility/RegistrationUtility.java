@@ -5,6 +5,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.regex.Matcher;
@@ -343,6 +344,18 @@ public final class RegistrationUtility {
 		return genderList.stream().anyMatch(s -> s.equalsIgnoreCase(gender));
 	}
 
+	public static List<String> getGenderList() {
+		return Collections.unmodifiableList(genderList);
+	}
+
+	public static List<String> getSexualOrientationList() {
+		return Collections.unmodifiableList(sexualOrientationList);
+	}
+
+	public static List<String> getInterestedInList() {
+		return Collections.unmodifiableList(interestedInList);
+	}
+
 	public static boolean isEmpty(String stringValue) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Inside isEmpty method");
@@ -0,0 +1,70 @@
+package com.perfectcherry.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class InteractionBloomFilterTests {
+
+	@Test
+	void emptyFilterContainsNothing() {
+		InteractionBloomFilter filter = new InteractionBloomFilter(16, 0.01);
+
+		assertThat(filter.mightContain(1L)).isFalse();
+		assertThat(filter.isSaturated()).isFalse();
+	}
+
+	@Test
+	void addedIdsAreAlwaysContained() {
+		InteractionBloomFilter filter = new InteractionBloomFilter(1000, 0.01);
+		for (long id = 1; id <= 1000; id++) {
+			filter.add(id * 7919);
+		}
+
+		for (long id = 1; id <= 1000; id++) {
+			assertThat(filter.mightContain(id * 7919)).isTrue();
+		}
+		assertThat(filter.isSaturated()).isFalse();
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTheConfiguredRate() {
+		InteractionBloomFilter filter = new InteractionBloomFilter(1000, 0.01);
+		for (long id = 1; id <= 1000; id++) {
+			filter.add(id);
+		}
+
+		int falsePositives = 0;
+		for (long id = 1_000_001; id <= 1_100_000; id++) {
+			if (filter.mightContain(id)) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThan(2000);
+	}
+
+	@Test
+	void addingAnIdAgainDoesNotCountTowardsSaturation() {
+		InteractionBloomFilter filter = new InteractionBloomFilter(16, 0.01);
+		assertThat(filter.add(42L)).isTrue();
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(filter.add(42L)).isFalse();
+		}
+		assertThat(filter.isSaturated()).isFalse();
+	}
+
+	@Test
+	void filterSaturatesOnceMoreIdsThanItsCapacityAreAdded() {
+		InteractionBloomFilter filter = new InteractionBloomFilter(16, 0.01);
+		int added = 0;
+		for (long id = 1; !filter.isSaturated(); id++) {
+			if (filter.add(id)) {
+				added++;
+			}
+		}
+
+		assertThat(added).isEqualTo(filter.getCapacity() + 1);
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.perfectcherry.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTests {
+
+	// 16 slots, so up to 9 keys fit without a rehash
+	private static final int SLOTS = 16;
+
+	@Test
+	void collidingKeysAreAllFound() {
+		LongIntHashMap map = new LongIntHashMap(8);
+		long[] keys = keysWithHome(3, 4);
+		for (int i = 0; i < keys.length; i++) {
+			assertThat(map.put(keys[i], i)).isEqualTo(LongIntHashMap.NO_VALUE);
+		}
+
+		for (int i = 0; i < keys.length; i++) {
+			assertThat(map.get(keys[i])).isEqualTo(i);
+		}
+		assertThat(map.size()).isEqualTo(4);
+	}
+
+	@Test
+	void removingFromTheMiddleOfAClusterKeepsTheRestReachable() {
+		LongIntHashMap map = new LongIntHashMap(8);
+		long[] cluster = keysWithHome(5, 4);
+		// homed after the cluster's start, so it is stored past the cluster
+		long displaced = keysWithHome(6, 1)[0];
+		for (int i = 0; i < cluster.length; i++) {
+			map.put(cluster[i], i);
+		}
+		map.put(displaced, 10);
+
+		assertThat(map.remove(cluster[1])).isEqualTo(1);
+
+		assertThat(map.get(cluster[1])).isEqualTo(LongIntHashMap.NO_VALUE);
+		assertThat(map.get(cluster[0])).isEqualTo(0);
+		assertThat(map.get(cluster[2])).isEqualTo(2);
+		assertThat(map.get(cluster[3])).isEqualTo(3);
+		assertThat(map.get(displaced)).isEqualTo(10);
+		assertThat(map.size()).isEqualTo(4);
+	}
+
+	@Test
+	void clusterWrappingPastTheEndOfTheTableSurvivesRemoval() {
+		LongIntHashMap map = new LongIntHashMap(8);
+		long[] wrapped = keysWithHome(SLOTS - 1, 3);
+		long first = keysWithHome(0, 1)[0];
+		for (int i = 0; i < wrapped.length; i++) {
+			map.put(wrapped[i], i);
+		}
+		map.put(first, 10);
+
+		assertThat(map.remove(wrapped[0])).isEqualTo(0);
+
+		assertThat(map.get(wrapped[0])).isEqualTo(LongIntHashMap.NO_VALUE);
+		assertThat(map.get(wrapped[1])).isEqualTo(1);
+		assertThat(map.get(wrapped[2])).isEqualTo(2);
+		assertThat(map.get(first)).isEqualTo(10);
+		assertThat(map.size()).isEqualTo(3);
+	}
+
+	@Test
+	void removedKeyCanBePutAgain() {
+		LongIntHashMap map = new LongIntHashMap(8);
+		long[] keys = keysWithHome(9, 3);
+		for (int i = 0; i < keys.length; i++) {
+			map.put(keys[i], i);
+		}
+
+		assertThat(map.remove(keys[0])).isEqualTo(0);
+		assertThat(map.remove(keys[0])).isEqualTo(LongIntHashMap.NO_VALUE);
+		assertThat(map.put(keys[0], 7)).isEqualTo(LongIntHashMap.NO_VALUE);
+
+		assertThat(map.get(keys[0])).isEqualTo(7);
+		assertThat(map.get(keys[1])).isEqualTo(1);
+		assertThat(map.get(keys[2])).isEqualTo(2);
+		assertThat(map.size()).isEqualTo(3);
+	}
+
+	@Test
+	void randomPutsAndRemovesMatchAHashMap() {
+		LongIntHashMap map = new LongIntHashMap(8);
+		Map<Long, Integer> expected = new HashMap<>();
+		Random random = new Random(1);
+		for (int i = 0; i < 100_000; i++) {
+			long key = random.nextInt(200);
+			if (random.nextBoolean()) {
+				Integer previous = expected.put(key, i);
+				assertThat(map.put(key, i)).isEqualTo(previous == null ? LongIntHashMap.NO_VALUE : previous);
+			} else {
+				Integer previous = expected.remove(key);
+				assertThat(map.remove(key)).isEqualTo(previous == null ? LongIntHashMap.NO_VALUE : previous);
+			}
+		}
+
+		assertThat(map.size()).isEqualTo(expected.size());
+		for (long key = 0; key < 200; key++) {
+			assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, LongIntHashMap.NO_VALUE));
+		}
+	}
+
+	/**
+	 * Keys whose home slot in a 16-slot table is {@code home}, mirroring
+	 * LongIntHashMap's hash.
+	 */
+	private static long[] keysWithHome(int home, int count) {
+		long[] keys = new long[count];
+		int found = 0;
+		for (long key = 1; found < count; key++) {
+			long hash = key * 0x9E3779B97F4A7C15L;
+			if (((int) (hash ^ (hash >>> 32)) & (SLOTS - 1)) == home) {
+				keys[found++] = key;
+			}
+		}
+		return keys;
+	}
+
+}
@@ -0,0 +1,157 @@
+package com.perfectcherry.interest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.perfectcherry.dto.InterestCountsDTO;
+import com.perfectcherry.dto.InterestStatusCount;
+import com.perfectcherry.pcenum.InterestEnum;
+import com.perfectcherry.repository.InterestRepository;
+
+class InterestCountersTests {
+
+	private final InterestRepository interestRepository = mock(InterestRepository.class);
+
+	private final InterestCounters interestCounters = new InterestCounters();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(interestCounters, "interestRepository", interestRepository);
+		when(interestRepository.countSentByStatus()).thenReturn(Collections.emptyList());
+		when(interestRepository.countReceivedByStatus()).thenReturn(Collections.emptyList());
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void recordMovesCountsBetweenStatuses() {
+		when(interestRepository.countSentByStatus()).thenReturn(Arrays.asList(count(1L, InterestEnum.P, 2L)));
+		when(interestRepository.countReceivedByStatus()).thenReturn(Arrays.asList(count(2L, InterestEnum.P, 2L)));
+		interestCounters.load();
+
+		interestCounters.record(1L, 2L, InterestEnum.P, InterestEnum.A);
+		interestCounters.record(1L, 3L, null, InterestEnum.P);
+
+		InterestCountsDTO sender = interestCounters.counts(1L);
+		InterestCountsDTO receiver = interestCounters.counts(2L);
+		assertThat(sender.getPendingSent()).isEqualTo(2);
+		assertThat(sender.getAccepted()).isEqualTo(1);
+		assertThat(receiver.getPendingReceived()).isEqualTo(1);
+		assertThat(receiver.getAccepted()).isEqualTo(1);
+		assertThat(interestCounters.counts(3L).getPendingReceived()).isEqualTo(1);
+	}
+
+	@Test
+	void recordBeforeLoadIsLeftToTheCounts() {
+		interestCounters.record(1L, 2L, null, InterestEnum.P);
+
+		assertThat(interestCounters.isReady()).isFalse();
+		when(interestRepository.countSentByStatus()).thenReturn(Arrays.asList(count(1L, InterestEnum.P, 1L)));
+		interestCounters.load();
+
+		assertThat(interestCounters.counts(1L).getPendingSent()).isEqualTo(1);
+	}
+
+	@Test
+	void loadWaitsForACommittedTransitionToBeRecorded() throws InterruptedException {
+		interestCounters.load();
+		TransactionSynchronizationManager.initSynchronization();
+		interestCounters.holdLoadUntilCompletion();
+		// committed: the counts now include the interest
+		when(interestRepository.countSentByStatus()).thenReturn(Arrays.asList(count(1L, InterestEnum.P, 1L)));
+		when(interestRepository.countReceivedByStatus()).thenReturn(Arrays.asList(count(2L, InterestEnum.P, 1L)));
+		Thread reconcile = new Thread(interestCounters::reconcile);
+		reconcile.start();
+		Thread.sleep(200);
+
+		verify(interestRepository, times(1)).countSentByStatus();
+		interestCounters.record(1L, 2L, null, InterestEnum.P);
+		complete();
+		reconcile.join(5000);
+
+		assertThat(reconcile.isAlive()).isFalse();
+		assertThat(interestCounters.counts(1L).getPendingSent()).isEqualTo(1);
+		assertThat(interestCounters.counts(2L).getPendingReceived()).isEqualTo(1);
+	}
+
+	@Test
+	void transitionCommittingDuringLoadIsRecordedOnTheLoadedCounts() throws InterruptedException {
+		interestCounters.load();
+		AtomicReference<Thread> transaction = new AtomicReference<>();
+		AtomicReference<Thread.State> stateDuringCounts = new AtomicReference<>();
+		when(interestRepository.countSentByStatus()).thenAnswer(invocation -> {
+			Thread thread = new Thread(() -> {
+				TransactionSynchronizationManager.initSynchronization();
+				try {
+					interestCounters.holdLoadUntilCompletion();
+					interestCounters.record(1L, 2L, null, InterestEnum.P);
+					complete();
+				} finally {
+					TransactionSynchronizationManager.clearSynchronization();
+				}
+			});
+			transaction.set(thread);
+			thread.start();
+			Thread.sleep(200);
+			stateDuringCounts.set(thread.getState());
+			// snapshot taken before that transaction commits
+			return Collections.<InterestStatusCount>emptyList();
+		});
+
+		interestCounters.reconcile();
+		transaction.get().join(5000);
+
+		assertThat(stateDuringCounts.get()).isEqualTo(Thread.State.WAITING);
+		assertThat(interestCounters.counts(1L).getPendingSent()).isEqualTo(1);
+		assertThat(interestCounters.counts(2L).getPendingReceived()).isEqualTo(1);
+	}
+
+	private static void complete() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+				TransactionSynchronization.STATUS_COMMITTED);
+	}
+
+	private static InterestStatusCount count(Long userId, InterestEnum status, Long total) {
+		return new InterestStatusCount() {
+
+			@Override
+			public Long getUserId() {
+				return userId;
+			}
+
+			@Override
+			public InterestEnum getStatus() {
+				return status;
+			}
+
+			@Override
+			public Long getTotal() {
+				return total;
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.perfectcherry.interest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.perfectcherry.dto.InterestPair;
+import com.perfectcherry.pcenum.InterestEnum;
+import com.perfectcherry.repository.InterestRepository;
+
+class InterestGraphTests {
+
+	private final InterestRepository interestRepository = mock(InterestRepository.class);
+
+	private final InterestGraph interestGraph = new InterestGraph();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(interestGraph, "interestRepository", interestRepository);
+		when(interestRepository.findAllInterestPairs()).thenReturn(Collections.emptyList());
+	}
+
+	@Test
+	void loadSeedsEdgesFromInterestPairs() {
+		when(interestRepository.findAllInterestPairs())
+				.thenReturn(Arrays.asList(pair(1L, 2L, InterestEnum.A), pair(3L, 1L, InterestEnum.P)));
+
+		interestGraph.load();
+
+		assertThat(interestGraph.isReady()).isTrue();
+		assertThat(interestGraph.isMutual(2L, 1L)).isTrue();
+		assertThat(interestGraph.hasSent(3L, 1L)).isTrue();
+		assertThat(interestGraph.isPendingEitherWay(1L, 3L)).isTrue();
+		assertThat(interestGraph.mutualMatches(1L)).containsExactly(2L);
+	}
+
+	@Test
+	void writesBeforeLoadAreIgnored() {
+		interestGraph.put(1L, 2L, InterestEnum.P);
+
+		assertThat(interestGraph.isReady()).isFalse();
+		assertThat(interestGraph.isConnected(1L, 2L)).isFalse();
+	}
+
+	@Test
+	void pendingInterestIsDirectedAndPending() {
+		interestGraph.load();
+
+		interestGraph.put(1L, 2L, InterestEnum.P);
+
+		assertThat(interestGraph.hasSent(1L, 2L)).isTrue();
+		assertThat(interestGraph.hasSent(2L, 1L)).isFalse();
+		assertThat(interestGraph.isConnected(2L, 1L)).isTrue();
+		assertThat(interestGraph.isPendingEitherWay(1L, 2L)).isTrue();
+		assertThat(interestGraph.isPendingEitherWay(2L, 1L)).isTrue();
+		assertThat(interestGraph.isMutual(1L, 2L)).isFalse();
+		assertThat(interestGraph.mutualMatches(1L)).isEmpty();
+	}
+
+	@Test
+	void acceptedInterestIsAMutualMatchForBothUsers() {
+		interestGraph.load();
+		interestGraph.put(1L, 2L, InterestEnum.P);
+
+		interestGraph.put(1L, 2L, InterestEnum.A);
+
+		assertThat(interestGraph.isMutual(1L, 2L)).isTrue();
+		assertThat(interestGraph.isMutual(2L, 1L)).isTrue();
+		assertThat(interestGraph.isPendingEitherWay(1L, 2L)).isFalse();
+		assertThat(interestGraph.mutualMatches(1L)).containsExactly(2L);
+		assertThat(interestGraph.mutualMatches(2L)).containsExactly(1L);
+	}
+
+	@Test
+	void declinedAndExpiredInterestsStayConnectedButNotPending() {
+		interestGraph.load();
+		interestGraph.put(1L, 2L, InterestEnum.D);
+		interestGraph.put(3L, 2L, InterestEnum.E);
+
+		assertThat(interestGraph.isConnected(1L, 2L)).isTrue();
+		assertThat(interestGraph.isConnected(2L, 3L)).isTrue();
+		assertThat(interestGraph.isPendingEitherWay(1L, 2L)).isFalse();
+		assertThat(interestGraph.isPendingEitherWay(2L, 3L)).isFalse();
+		assertThat(interestGraph.isMutual(1L, 2L)).isFalse();
+		assertThat(interestGraph.mutualMatches(2L)).isEmpty();
+	}
+
+	@Test
+	void directionsAreTrackedIndependently() {
+		interestGraph.load();
+		interestGraph.put(1L, 2L, InterestEnum.A);
+		interestGraph.put(2L, 1L, InterestEnum.P);
+
+		assertThat(interestGraph.isMutual(1L, 2L)).isTrue();
+		assertThat(interestGraph.isPendingEitherWay(1L, 2L)).isTrue();
+
+		interestGraph.remove(1L, 2L);
+
+		assertThat(interestGraph.isMutual(1L, 2L)).isFalse();
+		assertThat(interestGraph.hasSent(1L, 2L)).isFalse();
+		assertThat(interestGraph.hasSent(2L, 1L)).isTrue();
+		assertThat(interestGraph.isPendingEitherWay(1L, 2L)).isTrue();
+	}
+
+	@Test
+	void removingTheLastInterestDisconnectsTheUsers() {
+		interestGraph.load();
+		interestGraph.put(1L, 2L, InterestEnum.P);
+
+		interestGraph.remove(1L, 2L);
+
+		assertThat(interestGraph.isConnected(1L, 2L)).isFalse();
+		assertThat(interestGraph.isConnected(2L, 1L)).isFalse();
+		assertThat(interestGraph.mutualMatches(1L)).isEmpty();
+	}
+
+	private static InterestPair pair(Long userId, Long interestedOn, InterestEnum status) {
+		return new InterestPair() {
+
+			@Override
+			public Long getUserId() {
+				return userId;
+			}
+
+			@Override
+			public Long getInterestedOn() {
+				return interestedOn;
+			}
+
+			@Override
+			public InterestEnum getStatus() {
+				return status;
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.perfectcherry.pcenum;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Test;
+
+class InterestEnumTests {
+
+	@Test
+	void pendingCanMoveToEveryOtherStatus() {
+		for (InterestEnum next : InterestEnum.values()) {
+			assertThat(InterestEnum.P.canTransitionTo(next)).as("P -> %s", next).isEqualTo(next != InterestEnum.P);
+		}
+	}
+
+	@Test
+	void settledStatusesAreFinal() {
+		for (InterestEnum current : EnumSet.of(InterestEnum.A, InterestEnum.D, InterestEnum.C, InterestEnum.E)) {
+			for (InterestEnum next : InterestEnum.values()) {
+				assertThat(current.canTransitionTo(next)).as("%s -> %s", current, next).isFalse();
+			}
+		}
+	}
+
+	@Test
+	void fromCodeResolvesEveryStatusCode() {
+		for (InterestEnum interestEnum : InterestEnum.values()) {
+			assertThat(InterestEnum.fromCode(interestEnum.getCode())).isEqualTo(interestEnum);
+		}
+		assertThatThrownBy(() -> InterestEnum.fromCode("X")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
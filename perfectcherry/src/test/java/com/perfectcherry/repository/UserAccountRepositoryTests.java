@@ -0,0 +1,173 @@
+package com.perfectcherry.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.perfectcherry.dto.NearbyUserAccount;
+import com.perfectcherry.utility.GeoUtility;
+
+/**
+ * Runs the radius queries against MySQL 8 with the location column and
+ * spatial index from UserAccountLocation.txt. Skipped without Docker.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class UserAccountRepositoryTests {
+
+	private static final double LATITUDE = 12.97;
+
+	private static final double LONGITUDE = 77.59;
+
+	private static final int KM = 10;
+
+	private static final int FAR_AWAY_ACCOUNTS = 3000;
+
+	@Container
+	private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.23");
+
+	private static boolean loaded;
+
+	@Autowired
+	private UserAccountRepository userAccountRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@DynamicPropertySource
+	static void mysqlProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+		registry.add("spring.datasource.username", MYSQL::getUsername);
+		registry.add("spring.datasource.password", MYSQL::getPassword);
+		registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+		registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQL8Dialect");
+	}
+
+	@BeforeEach
+	void loadAccounts() {
+		if (loaded) {
+			return;
+		}
+		new ResourceDatabasePopulator(new ClassPathResource("UserAccountLocation.txt")).execute(dataSource);
+		account(1, 'A', LATITUDE, LONGITUDE, "Male", "Female");
+		account(2, 'A', 13.01, 77.59, "Female", "Male");
+		account(3, 'A', 13.15, 77.59, "Female", "Male");
+		account(4, 'A', 12.99, 77.59, "Female", "Male");
+		account(5, 'A', 12.96, 77.60, "Female", "Male");
+		account(6, 'A', 12.98, 77.59, "Male", "Female");
+		account(7, 'O', 12.97, 77.60, "Female", "Male");
+		account(8, 'A', 12.97, 77.67, "Female", "Male");
+		// inside the bounding box, about 10.9 km away
+		account(9, 'A', 13.04, 77.66, "Female", "Male");
+		jdbcTemplate.update("INSERT INTO interest (interestid, userid, interestedon, status, version) "
+				+ "VALUES (1, 1, 4, 'P', 0), (2, 5, 1, 'P', 0)");
+		Random random = new Random(1);
+		List<Object[]> users = new ArrayList<>();
+		List<Object[]> accounts = new ArrayList<>();
+		for (long id = 100; accounts.size() < FAR_AWAY_ACCOUNTS; id++) {
+			double latitude = Math.round((random.nextDouble() * 120 - 60) * 100) / 100.0;
+			double longitude = Math.round((random.nextDouble() * 360 - 180) * 100) / 100.0;
+			if (Math.abs(latitude - LATITUDE) > 1 || Math.abs(longitude - LONGITUDE) > 1) {
+				users.add(new Object[] { id, "user" + id });
+				accounts.add(new Object[] { id, id, "A", latitude, longitude, "Female", "Male" });
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO user (id, username, enabled, accountNonExpired, "
+				+ "credentialsNonExpired, accountNonLocked) VALUES (?, ?, 1, 1, 1, 1)", users);
+		jdbcTemplate.batchUpdate("INSERT INTO useraccount (useraccountid, user_id, status, latitude, longitude, "
+				+ "gender, interestedin, peoplewithinkm, isprofileupdated) VALUES (?, ?, ?, ?, ?, ?, ?, 10, 0)",
+				accounts);
+		jdbcTemplate.execute("ANALYZE TABLE useraccount");
+		loaded = true;
+	}
+
+	@Test
+	void findPeopleWithinKmKeepsMatchingAccountsInsideTheRadius() {
+		List<NearbyUserAccount> nearby = findPeopleWithinKm();
+
+		assertThat(nearby).extracting(NearbyUserAccount::getUserAccountId).containsExactly(2L, 8L);
+		assertThat(nearby.get(0).getDistance())
+				.isCloseTo(GeoUtility.distanceInKm(LATITUDE, LONGITUDE, 13.01, 77.59), within(0.001));
+		assertThat(nearby.get(1).getDistance())
+				.isCloseTo(GeoUtility.distanceInKm(LATITUDE, LONGITUDE, 12.97, 77.67), within(0.001));
+	}
+
+	@Test
+	void findPeopleWithinKmUnboundedMatchesTheBoundedQuery() {
+		List<NearbyUserAccount> unbounded = userAccountRepository.findPeopleWithinKmUnbounded(1L,
+				BigDecimal.valueOf(LATITUDE), BigDecimal.valueOf(LONGITUDE), KM, "Female", "Male");
+
+		assertThat(unbounded).extracting(NearbyUserAccount::getUserAccountId)
+				.containsExactlyElementsOf(findPeopleWithinKm().stream().map(NearbyUserAccount::getUserAccountId)
+						.collect(Collectors.toList()));
+	}
+
+	@Test
+	void findPeopleWithinKmUsesTheSpatialIndex() {
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("userid", 1L);
+		parameters.put("latitude", LATITUDE);
+		parameters.put("longitude", LONGITUDE);
+		parameters.put("km", KM);
+		parameters.put("boundingBox", GeoUtility.boundingBoxWkt(LATITUDE, LONGITUDE, KM));
+		parameters.put("gender", "Female");
+		parameters.put("interestedIn", "Male");
+
+		List<Map<String, Object>> plan = namedParameterJdbcTemplate.queryForList("EXPLAIN "
+				+ UserAccountRepository.NEARBY_SELECT + UserAccountRepository.NEARBY_BOUNDING_BOX
+				+ UserAccountRepository.NEARBY_FILTER, parameters);
+
+		assertThat(plan).filteredOn(row -> "ua".equals(row.get("table"))).extracting(row -> row.get("key"))
+				.containsExactly("idx_useraccount_location");
+	}
+
+	private List<NearbyUserAccount> findPeopleWithinKm() {
+		return userAccountRepository.findPeopleWithinKm(1L, BigDecimal.valueOf(LATITUDE),
+				BigDecimal.valueOf(LONGITUDE), KM, GeoUtility.boundingBoxWkt(LATITUDE, LONGITUDE, KM), "Female",
+				"Male");
+	}
+
+	private void account(long id, char status, double latitude, double longitude, String gender,
+			String interestedIn) {
+		jdbcTemplate.update("INSERT INTO user (id, username, enabled, accountNonExpired, credentialsNonExpired, "
+				+ "accountNonLocked) VALUES (?, ?, 1, 1, 1, 1)", id, "user" + id);
+		jdbcTemplate.update("INSERT INTO useraccount (useraccountid, user_id, status, latitude, longitude, gender, "
+				+ "interestedin, peoplewithinkm, isprofileupdated) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", id, id,
+				String.valueOf(status), latitude, longitude, gender, interestedIn, KM);
+	}
+
+}